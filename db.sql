@@ -5,6 +5,10 @@ CREATE DATABASE IF NOT EXISTS github_tracker
 
 USE github_tracker;
 
+-- Skrip ini hanya membuat tabel awal (setara migrasi 1). Indeks dan tabel
+-- berikutnya dibuat SchemaMigrator saat aplikasi pertama kali terhubung,
+-- yang sekaligus mencatat versinya di tabel schema_version.
+
 -- Buat tabel repositori
 CREATE TABLE IF NOT EXISTS repo (
     id          BIGINT PRIMARY KEY,
@@ -17,7 +21,41 @@ CREATE TABLE IF NOT EXISTS repo (
     private     TINYINT(1),
     updated_at  DATETIME,
     html_url    VARCHAR(500),
-    hash        VARCHAR(64)
+    hash        VARCHAR(64)    -- SHA-256 dari isi baris, untuk deteksi perubahan
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Riwayat bintang/fork: tiap baris berisi selisih terhadap titik sebelumnya.
+-- granularity: B = titik awal (bukan pertumbuhan), R = titik mentah, D = bucket harian, W = bucket mingguan
+CREATE TABLE IF NOT EXISTS repo_history (
+    repo_id     BIGINT NOT NULL,
+    username    VARCHAR(255) NOT NULL,
+    captured_at BIGINT NOT NULL,      -- epoch detik
+    granularity CHAR(1) NOT NULL,
+    stars_delta INT NOT NULL,
+    forks_delta INT NOT NULL,
+    INDEX idx_history_repo (repo_id, captured_at),
+    INDEX idx_history_user (username, captured_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Commit per repository; pemilik dan nama repo disimpan huruf kecil
+CREATE TABLE IF NOT EXISTS commits (
+    owner        VARCHAR(255) NOT NULL,
+    repo         VARCHAR(255) NOT NULL,
+    sha          VARCHAR(40) NOT NULL,
+    author       VARCHAR(255),
+    message      TEXT,
+    committed_at DATETIME,
+    PRIMARY KEY (owner, repo, sha),
+    INDEX idx_commits_date (owner, repo, committed_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Status sinkronisasi commit: backfilled = 1 bila riwayat lama sudah lengkap
+CREATE TABLE IF NOT EXISTS commit_sync (
+    owner      VARCHAR(255) NOT NULL,
+    repo       VARCHAR(255) NOT NULL,
+    backfilled TINYINT(1) NOT NULL,
+    synced_at  DATETIME,
+    PRIMARY KEY (owner, repo)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Buat tabel pengguna
@@ -25,4 +63,4 @@ CREATE TABLE IF NOT EXISTS users (
     username    VARCHAR(255) PRIMARY KEY,
     password    VARCHAR(64) NOT NULL,  -- SHA-256 hash
     created_at  DATETIME DEFAULT CURRENT_TIMESTAMP
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
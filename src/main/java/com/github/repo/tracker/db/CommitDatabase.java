@@ -0,0 +1,196 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.Commit;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Penyimpanan lokal riwayat commit per repository. Commit tidak pernah
+ * berubah setelah dibuat, jadi baris yang sudah tersimpan tidak perlu
+ * diinvalidasi; sinkronisasi cukup menambahkan commit yang belum ada.
+ * Pemilik dan nama repository disimpan dalam huruf kecil karena GitHub
+ * tidak membedakannya. Urutan dan titik sinkronisasi memakai tanggal
+ * committer ({@code committed_at}), sama seperti filter {@code since}/{@code until}
+ * GitHub; tanggal author hanya untuk tampilan.
+ */
+public class CommitDatabase {
+
+    private static final String[] COLUMNS = {"owner", "repo", "sha", "author", "message", "committed_at", "authored_at"};
+
+    private final ConnectionPool pool;
+    private final StorageBackend backend;
+
+    /**
+     * Titik sinkronisasi terakhir untuk sebuah repository.
+     */
+    public static class SyncState {
+        public final String newestSha;
+        public final Instant newestDate;
+        public final Instant oldestDate;
+        public final boolean backfilled;
+
+        SyncState(String newestSha, Instant newestDate, Instant oldestDate, boolean backfilled) {
+            this.newestSha = newestSha;
+            this.newestDate = newestDate;
+            this.oldestDate = oldestDate;
+            this.backfilled = backfilled;
+        }
+    }
+
+    public CommitDatabase() {
+        this(ConnectionPool.shared());
+    }
+
+    public CommitDatabase(ConnectionPool pool) {
+        this.pool = pool;
+        this.backend = pool.getBackend();
+        try {
+            SchemaMigrator.migrate(pool);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Commit terbaru lebih dulu, maksimal {@code limit} baris.
+     */
+    public List<Commit> loadCommits(String owner, String repo, int limit) {
+        List<Commit> list = new ArrayList<>();
+        String sql = "SELECT sha, author, message, committed_at, authored_at FROM commits WHERE owner = ? AND repo = ? ORDER BY committed_at DESC LIMIT ?";
+        try (Connection conn = pool.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, key(owner));
+            ps.setString(2, key(repo));
+            ps.setInt(3, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Commit.CommitAuthor author = new Commit.CommitAuthor();
+                    author.setName(rs.getString("author"));
+                    author.setDate(backend.getInstant(rs, "authored_at"));
+                    Commit.CommitAuthor committer = new Commit.CommitAuthor();
+                    committer.setDate(backend.getInstant(rs, "committed_at"));
+                    Commit.CommitDetails details = new Commit.CommitDetails();
+                    details.setAuthor(author);
+                    details.setCommitter(committer);
+                    details.setMessage(rs.getString("message"));
+                    Commit commit = new Commit();
+                    commit.setSha(rs.getString("sha"));
+                    commit.setCommit(details);
+                    list.add(commit);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    public SyncState loadSyncState(String owner, String repo) {
+        String newestSha = null;
+        Instant newestDate = null;
+        Instant oldestDate = null;
+        boolean backfilled = false;
+        try (Connection conn = pool.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT sha, committed_at FROM commits WHERE owner = ? AND repo = ? ORDER BY committed_at DESC LIMIT 1")) {
+                ps.setString(1, key(owner));
+                ps.setString(2, key(repo));
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        newestSha = rs.getString("sha");
+                        newestDate = backend.getInstant(rs, "committed_at");
+                    }
+                }
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT committed_at FROM commits WHERE owner = ? AND repo = ? ORDER BY committed_at ASC LIMIT 1")) {
+                ps.setString(1, key(owner));
+                ps.setString(2, key(repo));
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        oldestDate = backend.getInstant(rs, "committed_at");
+                    }
+                }
+            }
+            try (PreparedStatement ps = conn.prepareStatement("SELECT backfilled FROM commit_sync WHERE owner = ? AND repo = ?")) {
+                ps.setString(1, key(owner));
+                ps.setString(2, key(repo));
+                try (ResultSet rs = ps.executeQuery()) {
+                    backfilled = rs.next() && rs.getInt("backfilled") == 1;
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new SyncState(newestSha, newestDate, oldestDate, backfilled);
+    }
+
+    /**
+     * SHA dari {@code commits} yang sudah tersimpan untuk repository ini.
+     */
+    public Set<String> knownShas(String owner, String repo, List<Commit> commits) {
+        Set<String> known = new HashSet<>();
+        if (commits.isEmpty()) {
+            return known;
+        }
+        String sql = "SELECT sha FROM commits WHERE owner = ? AND repo = ? AND sha IN ("
+                + String.join(",", Collections.nCopies(commits.size(), "?")) + ")";
+        try (Connection conn = pool.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, key(owner));
+            ps.setString(2, key(repo));
+            for (int i = 0; i < commits.size(); i++) {
+                ps.setString(i + 3, commits.get(i).getSha());
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    known.add(rs.getString("sha"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return known;
+    }
+
+    void saveCommits(Connection conn, String owner, String repo, List<Commit> commits) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(backend.upsert("commits", "owner, repo, sha", COLUMNS))) {
+            for (Commit commit : commits) {
+                ps.setString(1, key(owner));
+                ps.setString(2, key(repo));
+                ps.setString(3, commit.getSha());
+                ps.setString(4, commit.getAuthorName());
+                ps.setString(5, commit.getMessage());
+                backend.setInstant(ps, 6, commit.getCommittedAt());
+                backend.setInstant(ps, 7, commit.getDate());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    void markBackfilled(Connection conn, String owner, String repo) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                backend.upsert("commit_sync", "owner, repo", "owner", "repo", "backfilled", "synced_at"))) {
+            ps.setString(1, key(owner));
+            ps.setString(2, key(repo));
+            ps.setInt(3, 1);
+            backend.setInstant(ps, 4, Instant.now());
+            ps.executeUpdate();
+        }
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,233 @@
+package com.github.repo.tracker.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool koneksi JDBC sederhana yang dipakai bersama oleh semua DAO.
+ * Jumlah koneksi dibatasi {@link DatabaseConfig#getPoolSize()}, koneksi
+ * divalidasi dengan {@link Connection#isValid(int)} sebelum dipinjamkan,
+ * dan koneksi yang menganggur lebih lama dari batas idle ditutup.
+ * Memanggil {@code close()} pada koneksi yang dipinjam mengembalikannya ke pool.
+ */
+public class ConnectionPool {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static ConnectionPool shared;
+
+    private final DatabaseConfig config;
+    private final LinkedBlockingDeque<Idle> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService evictor;
+    private final List<Runnable> beforeShutdown = new CopyOnWriteArrayList<>();
+
+    private static class Idle {
+        final Connection connection;
+        final long since;
+
+        Idle(Connection connection, long since) {
+            this.connection = connection;
+            this.since = since;
+        }
+    }
+
+    public ConnectionPool(DatabaseConfig config) {
+        this.config = config;
+        this.permits = new Semaphore(config.getPoolSize(), true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, config.getIdleTimeoutMillis() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized ConnectionPool shared() {
+        if (shared == null) {
+            DatabaseConfig config = DatabaseConfig.load();
+            try {
+                Class.forName(config.getBackend().getDriverClass());
+            } catch (ClassNotFoundException e) {
+                System.err.println("Driver " + config.getBackend() + " tidak ditemukan");
+            }
+            ConnectionPool pool = new ConnectionPool(config);
+            // Satu hook saja: hook JVM berjalan paralel tanpa urutan, jadi data
+            // yang masih antre harus ditulis di hook yang sama sebelum pool ditutup
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "db-pool-close"));
+            shared = pool;
+        }
+        return shared;
+    }
+
+    public Connection getConnection() throws SQLException {
+        try {
+            if (!permits.tryAcquire(config.getConnectionTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Tidak ada koneksi database yang tersedia (pool penuh)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Menunggu koneksi database dibatalkan", e);
+        }
+        try {
+            Idle entry;
+            while ((entry = idle.pollFirst()) != null) {
+                if (entry.connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    return wrap(entry.connection);
+                }
+                closeQuietly(entry.connection);
+            }
+            Connection physical = DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPassword());
+            try {
+                config.getBackend().initConnection(physical);
+            } catch (SQLException e) {
+                closeQuietly(physical);
+                throw e;
+            }
+            return wrap(physical);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Membungkus koneksi fisik agar {@code close()} mengembalikannya ke pool
+     * alih-alih memutus koneksi ke server.
+     */
+    private Connection wrap(Connection physical) {
+        boolean[] returned = {false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        switch (method.getName()) {
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                return "Pooled" + physical;
+                        }
+                    }
+                    switch (method.getName()) {
+                        case "close":
+                            synchronized (returned) {
+                                if (!returned[0]) {
+                                    returned[0] = true;
+                                    release(physical);
+                                }
+                            }
+                            return null;
+                        case "isClosed":
+                            synchronized (returned) {
+                                return returned[0] || physical.isClosed();
+                            }
+                        case "unwrap":
+                        case "isWrapperFor":
+                            break;
+                        default:
+                            synchronized (returned) {
+                                if (returned[0]) {
+                                    throw new SQLException("Koneksi sudah dikembalikan ke pool");
+                                }
+                            }
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private void release(Connection physical) {
+        try {
+            if (physical.isClosed()) {
+                return;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            idle.offerFirst(new Idle(physical, System.currentTimeMillis()));
+        } catch (SQLException e) {
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void evictIdle() {
+        long deadline = System.currentTimeMillis() - config.getIdleTimeoutMillis();
+        // Koneksi terlama ada di ujung belakang deque
+        Iterator<Idle> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            Idle entry = it.next();
+            if (entry.since < deadline && idle.removeFirstOccurrence(entry)) {
+                closeQuietly(entry.connection);
+            }
+        }
+    }
+
+    /**
+     * Mendaftarkan aksi yang dijalankan saat JVM berhenti, sebelum pool
+     * bersama ditutup (mis. menulis data yang masih antre).
+     */
+    public void beforeShutdown(Runnable action) {
+        beforeShutdown.add(action);
+    }
+
+    private void shutdown() {
+        for (Runnable action : beforeShutdown) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        close();
+    }
+
+    public void close() {
+        evictor.shutdownNow();
+        Idle entry;
+        while ((entry = idle.pollFirst()) != null) {
+            closeQuietly(entry.connection);
+        }
+    }
+
+    public StorageBackend getBackend() {
+        return config.getBackend();
+    }
+
+    public int getFetchSize() {
+        return config.getFetchSize();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getActiveCount() {
+        return config.getPoolSize() - permits.availablePermits();
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Koneksi sudah rusak, tidak ada yang perlu dilakukan
+        }
+    }
+}
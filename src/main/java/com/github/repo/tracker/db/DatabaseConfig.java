@@ -0,0 +1,101 @@
+package com.github.repo.tracker.db;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Konfigurasi koneksi database. Nilai dibaca dari {@code db.properties} di
+ * direktori kerja, lalu dapat ditimpa dengan system property yang sama
+ * (mis. {@code -Ddb.url=...}). {@code db.backend} memilih mesin database
+ * ({@code mysql} atau {@code sqlite}); URL default mengikuti mesin yang dipilih.
+ */
+public class DatabaseConfig {
+
+    private static final Path CONFIG_FILE = Paths.get("db.properties");
+
+    private final StorageBackend backend;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int poolSize;
+    private final long idleTimeoutMillis;
+    private final long connectionTimeoutMillis;
+    private final int fetchSize;
+
+    public DatabaseConfig(StorageBackend backend, String url, String user, String password, int poolSize,
+                          long idleTimeoutMillis, long connectionTimeoutMillis, int fetchSize) {
+        this.backend = backend;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.poolSize = poolSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.fetchSize = fetchSize;
+    }
+
+    public static DatabaseConfig load() {
+        Properties props = new Properties();
+        if (Files.exists(CONFIG_FILE)) {
+            try (InputStream in = Files.newInputStream(CONFIG_FILE)) {
+                props.load(in);
+            } catch (IOException e) {
+                System.err.println("db.properties tidak dapat dibaca: " + e.getMessage());
+            }
+        }
+        StorageBackend backend = StorageBackend.valueOf(value(props, "db.backend", "mysql").toUpperCase(Locale.ROOT));
+        return new DatabaseConfig(
+                backend,
+                value(props, "db.url", backend.getDefaultUrl()),
+                value(props, "db.user", "root"),
+                value(props, "db.password", "root"),
+                Integer.parseInt(value(props, "db.pool.size", "8")),
+                Long.parseLong(value(props, "db.pool.idleTimeoutMillis", "300000")),
+                Long.parseLong(value(props, "db.pool.connectionTimeoutMillis", "10000")),
+                Integer.parseInt(value(props, "db.fetchSize", "500")));
+    }
+
+    private static String value(Properties props, String key, String defaultValue) {
+        return System.getProperty(key, props.getProperty(key, defaultValue));
+    }
+
+    public StorageBackend getBackend() {
+        return backend;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public long getConnectionTimeoutMillis() {
+        return connectionTimeoutMillis;
+    }
+
+    /**
+     * Jumlah baris yang diambil per perjalanan ke server saat membaca hasil query besar.
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+}
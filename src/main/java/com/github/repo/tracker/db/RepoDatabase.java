@@ -1,82 +1,408 @@
 package com.github.repo.tracker.db;
 
 import com.github.repo.tracker.model.Repo;
+import com.github.repo.tracker.util.CancellationToken;
+import com.github.repo.tracker.util.HashUtil;
 
 import java.sql.*;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class RepoDatabase {
+public class RepoDatabase implements RepoStore {
 
-    private static final String DB_URL = "jdbc:mysql://localhost:8889/github_tracker?useSSL=false&serverTimezone=UTC";
-    private static final String DB_USER = "root";
-    private static final String DB_PASS = "root";
+    private static final String[] COLUMNS = {
+        "id", "username", "name", "description", "language", "stars", "forks", "private", "updated_at", "html_url", "hash"
+    };
+    private static final String SELECT_COLUMNS = "id, name, description, language, stars, forks, private, updated_at, html_url";
+
+    private final ConnectionPool pool;
+    private final StorageBackend backend;
+    private final RepoHistoryDatabase history;
 
     public RepoDatabase() {
+        this(ConnectionPool.shared());
+    }
+
+    public RepoDatabase(ConnectionPool pool) {
+        this.pool = pool;
+        this.backend = pool.getBackend();
         try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-        } catch (ClassNotFoundException e) {
-            System.err.println("MySQL Driver tidak ditemukan");
+            SchemaMigrator.migrate(pool);
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
+        this.history = new RepoHistoryDatabase(pool);
+    }
 
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASS)) {
-            try (Statement st = conn.createStatement()) {
-                st.execute("CREATE TABLE IF NOT EXISTS repo (id BIGINT PRIMARY KEY, username VARCHAR(255), name VARCHAR(255), description TEXT, language VARCHAR(100), stars INT, forks INT, private TINYINT(1), updated_at DATETIME, html_url VARCHAR(500), hash VARCHAR(64))");
-            }
+    public RepoHistoryDatabase getHistory() {
+        return history;
+    }
+
+    /**
+     * Menyimpan daftar repository terbaru milik user. Hanya baris yang benar-benar
+     * berubah yang ditulis: sidik jari isi tiap repository dibandingkan dengan
+     * kolom {@code hash} yang tersimpan, repository baru/berubah di-upsert dan
+     * repository yang sudah tidak ada dihapus. Perubahan jumlah bintang/fork
+     * dicatat ke {@link RepoHistoryDatabase} dalam transaksi yang sama.
+     *
+     * @return jumlah baris yang ditulis atau dihapus
+     */
+    @Override
+    public int saveRepos(String username, List<Repo> repos) {
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+            int written = saveRepos(conn, username, repos);
+            conn.commit();
+            return written;
         } catch (SQLException e) {
             e.printStackTrace();
+            return 0;
         }
     }
 
-    public void saveRepos(String username, List<Repo> repos, String hash) {
-        String sql = "REPLACE INTO repo(id, username, name, description, language, stars, forks, private, updated_at, html_url, hash) VALUES(?,?,?,?,?,?,?,?,?,?,?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASS)) {
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
-                for (Repo repo : repos) {
-                    ps.setLong(1, repo.getId());
-                    ps.setString(2, username);
-                    ps.setString(3, repo.getName());
-                    ps.setString(4, repo.getDescription());
-                    ps.setString(5, repo.getLanguage());
-                    ps.setInt(6, repo.getStargazersCount());
-                    ps.setInt(7, repo.getForksCount());
-                    ps.setBoolean(8, repo.isPrivate());
-                    ps.setTimestamp(9, Timestamp.from(repo.getUpdatedAt()));
-                    ps.setString(10, repo.getHtmlUrl());
-                    ps.setString(11, hash);
+    int saveRepos(Connection conn, String username, List<Repo> repos) throws SQLException {
+        Map<Long, StoredRow> stored = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT id, hash, stars, forks FROM repo WHERE username = ?")) {
+            ps.setString(1, username);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    stored.put(rs.getLong("id"), new StoredRow(rs.getString("hash"), rs.getInt("stars"), rs.getInt("forks")));
+                }
+            }
+        }
+
+        List<RepoHistoryDatabase.Delta> deltas = new ArrayList<>();
+        int written = 0;
+        String upsert = backend.upsert("repo", "id", COLUMNS);
+        try (PreparedStatement ps = conn.prepareStatement(upsert)) {
+            for (Repo repo : repos) {
+                String hash = fingerprint(repo);
+                StoredRow previous = stored.remove(repo.getId());
+                if (previous != null && hash.equals(previous.hash)) {
+                    continue;
+                }
+                int starsDelta = repo.getStargazersCount() - (previous != null ? previous.stars : 0);
+                int forksDelta = repo.getForksCount() - (previous != null ? previous.forks : 0);
+                if (starsDelta != 0 || forksDelta != 0) {
+                    // Repository yang baru terlihat belum tumbuh; nilainya hanya titik awal
+                    deltas.add(new RepoHistoryDatabase.Delta(repo.getId(), starsDelta, forksDelta, previous == null));
+                }
+                ps.setLong(1, repo.getId());
+                ps.setString(2, username);
+                ps.setString(3, repo.getName());
+                ps.setString(4, repo.getDescription());
+                ps.setString(5, repo.getLanguage());
+                ps.setInt(6, repo.getStargazersCount());
+                ps.setInt(7, repo.getForksCount());
+                ps.setBoolean(8, repo.isPrivate());
+                backend.setInstant(ps, 9, repo.getUpdatedAt());
+                ps.setString(10, repo.getHtmlUrl());
+                ps.setString(11, hash);
+                ps.addBatch();
+                written++;
+            }
+            if (written > 0) {
+                ps.executeBatch();
+            }
+        }
+
+        // Yang tersisa di map adalah repository yang sudah tidak dimiliki user
+        if (!stored.isEmpty()) {
+            try (PreparedStatement ps = conn.prepareStatement("DELETE FROM repo WHERE id = ?")) {
+                for (Map.Entry<Long, StoredRow> removed : stored.entrySet()) {
+                    ps.setLong(1, removed.getKey());
                     ps.addBatch();
+                    // Nolkan riwayat agar jumlah selisih tetap sama dengan nilai sebenarnya
+                    StoredRow row = removed.getValue();
+                    if (row.stars != 0 || row.forks != 0) {
+                        deltas.add(new RepoHistoryDatabase.Delta(removed.getKey(), -row.stars, -row.forks, true));
+                    }
                 }
                 ps.executeBatch();
             }
+            written += stored.size();
+        }
+        history.append(conn, username, deltas);
+
+        try (PreparedStatement ps = conn.prepareStatement(backend.upsert("repo_sync", "username", "username", "synced_at"))) {
+            ps.setString(1, username);
+            ps.setLong(2, Instant.now().getEpochSecond());
+            ps.executeUpdate();
+        }
+        return written;
+    }
+
+    /**
+     * Waktu daftar repository user terakhir disimpan, atau {@code null} bila
+     * belum pernah. {@link Instant#EPOCH} berarti data tersimpan sebelum waktu
+     * sinkronisasi dicatat, jadi umurnya tidak diketahui.
+     */
+    @Override
+    public Instant lastSynced(String username) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT synced_at FROM repo_sync WHERE username = ?")) {
+            ps.setString(1, username);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return Instant.ofEpochSecond(rs.getLong("synced_at"));
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return null;
+    }
+
+    private static class StoredRow {
+        final String hash;
+        final int stars;
+        final int forks;
+
+        StoredRow(String hash, int stars, int forks) {
+            this.hash = hash;
+            this.stars = stars;
+            this.forks = forks;
+        }
+    }
+
+    /**
+     * Sidik jari SHA-256 dari semua kolom yang disimpan untuk sebuah repository.
+     */
+    static String fingerprint(Repo repo) {
+        return HashUtil.sha256(String.join("\u001f",
+                String.valueOf(repo.getName()),
+                String.valueOf(repo.getDescription()),
+                String.valueOf(repo.getLanguage()),
+                String.valueOf(repo.getStargazersCount()),
+                String.valueOf(repo.getForksCount()),
+                String.valueOf(repo.isPrivate()),
+                String.valueOf(repo.getUpdatedAt()),
+                String.valueOf(repo.getHtmlUrl())));
     }
 
+    @Override
     public List<Repo> loadRepos(String username) {
+        return loadRepos(username, CancellationToken.NONE);
+    }
+
+    @Override
+    public List<Repo> loadRepos(String username, CancellationToken token) {
+        try (Stream<Repo> repos = streamRepos(username, RepoSort.UPDATED, token)) {
+            return repos.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Satu halaman repository dengan paginasi keyset: halaman berikutnya
+     * dimulai tepat setelah {@code after} (baris terakhir halaman sebelumnya,
+     * atau {@code null} untuk halaman pertama) tanpa OFFSET, sehingga biaya
+     * tiap halaman tetap sama sedalam apa pun posisinya.
+     */
+    @Override
+    public List<Repo> loadRepos(String username, RepoSort sort, Repo after, int limit, CancellationToken token) {
+        List<Repo> list = new ArrayList<>();
+        if (token.isCancelled()) {
+            return list;
+        }
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM repo WHERE username = ?"
+                + (after != null ? " AND " + sort.after(after) : "")
+                + " ORDER BY " + sort.orderBy() + " LIMIT ?";
+        try (Connection conn = pool.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            CancellationToken.Registration cancel = token.onCancel(() -> cancel(ps));
+            try {
+                ps.setString(1, username);
+                int index = 2;
+                if (after != null) {
+                    index = sort.bindAfter(backend, ps, index, after);
+                }
+                ps.setInt(index, limit);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        list.add(readRepo(rs));
+                    }
+                }
+            } finally {
+                cancel.close();
+            }
+        } catch (SQLException e) {
+            if (!token.isCancelled()) {
+                e.printStackTrace();
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Halaman pada posisi {@code offset}. Database tetap melewati baris
+     * sebelumnya lewat indeks, jadi pakai {@link #loadRepos(String, RepoSort, Repo, int, CancellationToken)}
+     * bila baris terakhir halaman sebelumnya sudah diketahui.
+     */
+    @Override
+    public List<Repo> loadReposAt(String username, RepoSort sort, int offset, int limit, CancellationToken token) {
         List<Repo> list = new ArrayList<>();
-        String sql = "SELECT * FROM repo WHERE username = ?";
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASS);
+        if (token.isCancelled()) {
+            return list;
+        }
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM repo WHERE username = ? ORDER BY " + sort.orderBy() + " LIMIT ? OFFSET ?";
+        try (Connection conn = pool.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
+            CancellationToken.Registration cancel = token.onCancel(() -> cancel(ps));
+            try {
+                ps.setString(1, username);
+                ps.setInt(2, limit);
+                ps.setInt(3, offset);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        list.add(readRepo(rs));
+                    }
+                }
+            } finally {
+                cancel.close();
+            }
+        } catch (SQLException e) {
+            if (!token.isCancelled()) {
+                e.printStackTrace();
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public int countRepos(String username) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM repo WHERE username = ?")) {
             ps.setString(1, username);
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    Repo repo = new Repo();
-                    repo.setId(rs.getLong("id"));
-                    repo.setName(rs.getString("name"));
-                    repo.setDescription(rs.getString("description"));
-                    repo.setLanguage(rs.getString("language"));
-                    repo.setStargazersCount(rs.getInt("stars"));
-                    repo.setForksCount(rs.getInt("forks"));
-                    repo.setPrivate(rs.getInt("private") == 1);
-                    repo.setUpdatedAt(rs.getTimestamp("updated_at").toInstant());
-                    repo.setHtmlUrl(rs.getString("html_url"));
-                    list.add(repo);
-                }
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    @Override
+    public List<String> loadUsernames() {
+        List<String> list = new ArrayList<>();
+        // DISTINCT memakai indeks (username, ...) di tabel repo tanpa membaca baris repository
+        String sql = "SELECT DISTINCT username FROM repo UNION SELECT username FROM users";
+        try (Connection conn = pool.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                list.add(rs.getString(1));
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return list;
     }
+
+    /**
+     * Membaca semua repository user baris demi baris dengan fetch size dari
+     * konfigurasi, tanpa menampung seluruh hasil di memori. Stream memegang
+     * satu koneksi pool sampai ditutup, jadi selalu pakai try-with-resources.
+     * Bila {@code token} dibatalkan, query dihentikan dan stream melempar
+     * {@link CancellationException}. Kesalahan database lain dicetak dan
+     * mengakhiri stream, sehingga hasilnya kosong atau terpotong.
+     */
+    @Override
+    public Stream<Repo> streamRepos(String username, RepoSort sort, CancellationToken token) {
+        token.throwIfCancelled();
+        String sql = "SELECT " + SELECT_COLUMNS + " FROM repo WHERE username = ? ORDER BY " + sort.orderBy();
+        Connection conn = null;
+        PreparedStatement statement = null;
+        try {
+            conn = pool.getConnection();
+            statement = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            PreparedStatement ps = statement;
+            ps.setFetchSize(pool.getFetchSize());
+            ps.setString(1, username);
+            CancellationToken.Registration cancel = token.onCancel(() -> cancel(ps));
+            ResultSet rs;
+            try {
+                rs = ps.executeQuery();
+            } catch (SQLException e) {
+                cancel.close();
+                throw e;
+            }
+            Connection owned = conn;
+            Spliterator<Repo> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super Repo> action) {
+                    token.throwIfCancelled();
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(readRepo(rs));
+                        return true;
+                    } catch (SQLException e) {
+                        token.throwIfCancelled();
+                        // Sama seperti query yang gagal: dicetak, dan hasilnya berhenti di sini
+                        e.printStackTrace();
+                        return false;
+                    }
+                }
+            };
+            return StreamSupport.stream(rows, false).onClose(() -> {
+                cancel.close();
+                // Koneksi pool hanya dikembalikan, tidak ditutup; statement dan
+                // result set-nya harus ditutup sendiri agar tidak bocor
+                closeQuietly(rs);
+                closeQuietly(ps);
+                closeQuietly(owned);
+            });
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            closeQuietly(conn);
+            token.throwIfCancelled();
+            e.printStackTrace();
+            return Stream.empty();
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static void cancel(Statement statement) {
+        try {
+            statement.cancel();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private Repo readRepo(ResultSet rs) throws SQLException {
+        Repo repo = new Repo();
+        repo.setId(rs.getLong("id"));
+        repo.setName(rs.getString("name"));
+        repo.setDescription(rs.getString("description"));
+        repo.setLanguage(rs.getString("language"));
+        repo.setStargazersCount(rs.getInt("stars"));
+        repo.setForksCount(rs.getInt("forks"));
+        repo.setPrivate(rs.getInt("private") == 1);
+        repo.setUpdatedAt(backend.getInstant(rs, "updated_at"));
+        repo.setHtmlUrl(rs.getString("html_url"));
+        return repo;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,210 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.RepoGrowth;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Riwayat jumlah bintang dan fork per repository.
+ * <p>
+ * Setiap titik hanya menyimpan <em>selisih</em> terhadap titik sebelumnya,
+ * dan titik hanya ditulis bila nilainya berubah. Nilai absolut pada suatu
+ * waktu adalah jumlah semua selisih sampai waktu itu, sehingga pertumbuhan
+ * dalam sebuah jendela waktu cukup dihitung dengan {@code SUM} pada rentang
+ * indeks {@code (repo_id, captured_at)} atau {@code (username, captured_at)}.
+ * <p>
+ * Titik mentah ({@code R}) yang lebih tua dari {@link #RAW_RETENTION}
+ * digabung menjadi bucket harian ({@code D}), dan bucket harian yang lebih tua
+ * dari {@link #DAILY_RETENTION} digabung menjadi bucket mingguan ({@code W}).
+ * Karena isinya selisih, penggabungan cukup menjumlahkan tanpa kehilangan total.
+ * <p>
+ * Nilai saat repository pertama kali terlihat (dan nol-kan saat repository
+ * hilang) disimpan sebagai titik awal ({@code B}). Titik ini ikut dijumlahkan
+ * untuk nilai absolut, tetapi bukan pertumbuhan, jadi tidak dihitung dalam
+ * jendela waktu dan tidak pernah digabung.
+ */
+public class RepoHistoryDatabase {
+
+    public static final Duration RAW_RETENTION = Duration.ofDays(30);
+    public static final Duration DAILY_RETENTION = Duration.ofDays(365);
+
+    private static final long DAY = 86_400;
+    private static final long WEEK = 7 * DAY;
+    // 1970-01-05 adalah hari Senin; bucket mingguan dimulai hari Senin
+    private static final long WEEK_OFFSET = 4 * DAY;
+
+    private static final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    private final ConnectionPool pool;
+    private final StorageBackend backend;
+
+    /**
+     * Satu titik selisih untuk ditambahkan.
+     */
+    static class Delta {
+        final long repoId;
+        final int stars;
+        final int forks;
+        final boolean baseline;
+
+        Delta(long repoId, int stars, int forks, boolean baseline) {
+            this.repoId = repoId;
+            this.stars = stars;
+            this.forks = forks;
+            this.baseline = baseline;
+        }
+    }
+
+    public RepoHistoryDatabase() {
+        this(ConnectionPool.shared());
+    }
+
+    public RepoHistoryDatabase(ConnectionPool pool) {
+        this.pool = pool;
+        this.backend = pool.getBackend();
+        try {
+            SchemaMigrator.migrate(pool);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        scheduleCompaction();
+    }
+
+    /**
+     * Menambahkan titik selisih dalam transaksi milik pemanggil.
+     */
+    void append(Connection conn, String username, List<Delta> deltas) throws SQLException {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        long now = Instant.now().getEpochSecond();
+        String sql = "INSERT INTO repo_history(repo_id, username, captured_at, granularity, stars_delta, forks_delta) VALUES(?,?,?,?,?,?)";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (Delta delta : deltas) {
+                ps.setLong(1, delta.repoId);
+                ps.setString(2, username);
+                ps.setLong(3, now);
+                ps.setString(4, delta.baseline ? "B" : "R");
+                ps.setInt(5, delta.stars);
+                ps.setInt(6, delta.forks);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Jumlah bintang yang bertambah pada sebuah repository dalam {@code window} terakhir.
+     */
+    public int starGrowth(long repoId, Duration window) {
+        String sql = "SELECT COALESCE(SUM(stars_delta), 0) FROM repo_history WHERE repo_id = ? AND captured_at >= ? AND granularity <> 'B'";
+        try (Connection conn = pool.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, repoId);
+            ps.setLong(2, Instant.now().minus(window).getEpochSecond());
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Repository milik user dengan pertambahan bintang terbesar dalam {@code window} terakhir.
+     */
+    public List<RepoGrowth> fastestGrowing(String username, Duration window, int limit) {
+        List<RepoGrowth> list = new ArrayList<>();
+        String sql = "SELECT h.repo_id, MAX(r.name) AS name, SUM(h.stars_delta) AS stars, SUM(h.forks_delta) AS forks "
+                + "FROM repo_history h LEFT JOIN repo r ON r.id = h.repo_id "
+                + "WHERE h.username = ? AND h.captured_at >= ? AND h.granularity <> 'B' "
+                + "GROUP BY h.repo_id HAVING SUM(h.stars_delta) > 0 ORDER BY stars DESC LIMIT ?";
+        try (Connection conn = pool.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, username);
+            ps.setLong(2, Instant.now().minus(window).getEpochSecond());
+            ps.setInt(3, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new RepoGrowth(rs.getLong("repo_id"), rs.getString("name"), rs.getInt("stars"), rs.getInt("forks")));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
+    /**
+     * Menggabungkan titik lama menjadi bucket harian lalu mingguan.
+     *
+     * @return jumlah baris yang dihapus setelah digabung
+     */
+    public int compact() {
+        long now = Instant.now().getEpochSecond();
+        long dailyCutoff = alignDay(now - RAW_RETENTION.getSeconds());
+        long weeklyCutoff = alignWeek(now - DAILY_RETENTION.getSeconds());
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+            int removed = rollUp(conn, "R", "D", "captured_at - (captured_at % " + DAY + ")", dailyCutoff);
+            removed += rollUp(conn, "D", "W", "captured_at - ((captured_at - " + WEEK_OFFSET + ") % " + WEEK + ")", weeklyCutoff);
+            conn.commit();
+            return removed;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    private int rollUp(Connection conn, String from, String to, String bucket, long cutoff) throws SQLException {
+        String insert = "INSERT INTO repo_history(repo_id, username, captured_at, granularity, stars_delta, forks_delta) "
+                + "SELECT repo_id, MAX(username), " + bucket + " AS bucket, '" + to + "', SUM(stars_delta), SUM(forks_delta) "
+                + "FROM repo_history WHERE granularity = ? AND captured_at < ? GROUP BY repo_id, " + bucket;
+        try (PreparedStatement ps = conn.prepareStatement(insert)) {
+            ps.setString(1, from);
+            ps.setLong(2, cutoff);
+            ps.executeUpdate();
+        }
+        try (PreparedStatement ps = conn.prepareStatement("DELETE FROM repo_history WHERE granularity = ? AND captured_at < ?")) {
+            ps.setString(1, from);
+            ps.setLong(2, cutoff);
+            return ps.executeUpdate();
+        }
+    }
+
+    private static long alignDay(long epochSecond) {
+        return epochSecond - (epochSecond % DAY);
+    }
+
+    private static long alignWeek(long epochSecond) {
+        return epochSecond - ((epochSecond - WEEK_OFFSET) % WEEK);
+    }
+
+    /**
+     * Menjalankan {@link #compact()} sekali sehari di background; cukup satu
+     * jadwal untuk seluruh aplikasi.
+     */
+    private void scheduleCompaction() {
+        if (!compactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "repo-history-compaction");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::compact, 1, 24 * 60, TimeUnit.MINUTES);
+    }
+}
@@ -0,0 +1,289 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.Repo;
+import com.github.repo.tracker.util.CancellationToken;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Snapshot daftar repository per user dalam format biner ringkas, satu file
+ * per user di direktori {@code snapshots/}. Menggantikan {@code repos.ser}
+ * (Java serialization) yang bersifat global dan saling menimpa.
+ * <p>
+ * Susunan file:
+ * <pre>
+ *   magic "RSNP" | versi (1 byte) | waktu simpan (varint, epoch detik)
+ *   jumlah string (varint) | tiap string: panjang (varint) + UTF-8
+ *   jumlah repo (varint)   | tiap repo:
+ *       id (varint) | name, description, language, html_url (indeks string + 1, 0 = null)
+ *       stars (varint) | forks (varint) | flag (1 byte, bit 0 = private)
+ *       updated_at (varint, epoch detik + 1, 0 = null)
+ * </pre>
+ * Nilai yang berulang (terutama bahasa) hanya disimpan sekali di tabel string.
+ * File ditulis ke file sementara lalu dipindah secara atomik.
+ */
+public class RepoSnapshotFile {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = {'R', 'S', 'N', 'P'};
+    private static final String EXTENSION = ".rsnp";
+    private static final Path DEFAULT_DIR = Paths.get("snapshots");
+
+    private static RepoSnapshotFile shared;
+
+    private final Path dir;
+
+    /**
+     * Isi sebuah snapshot.
+     */
+    public static class Snapshot {
+        private final List<Repo> repos;
+        private final Instant savedAt;
+
+        Snapshot(List<Repo> repos, Instant savedAt) {
+            this.repos = repos;
+            this.savedAt = savedAt;
+        }
+
+        public List<Repo> getRepos() {
+            return repos;
+        }
+
+        public Instant getSavedAt() {
+            return savedAt;
+        }
+    }
+
+    public RepoSnapshotFile(Path dir) {
+        this.dir = dir;
+    }
+
+    public static synchronized RepoSnapshotFile shared() {
+        if (shared == null) {
+            shared = new RepoSnapshotFile(DEFAULT_DIR);
+        }
+        return shared;
+    }
+
+    public void write(String username, List<Repo> repos) throws IOException {
+        write(username, repos, CancellationToken.NONE);
+    }
+
+    /**
+     * Menulis snapshot kecuali {@code token} dibatalkan sebelum file
+     * dipindahkan ke tempatnya; snapshot lama tetap utuh bila dibatalkan.
+     */
+    public void write(String username, List<Repo> repos, CancellationToken token) throws IOException {
+        if (token.isCancelled()) {
+            return;
+        }
+        Files.createDirectories(dir);
+        byte[] data = encode(repos, Instant.now());
+        // Nama sementara unik agar dua pencarian bersamaan tidak saling menimpa di tengah jalan
+        Path tmp = Files.createTempFile(dir, fileName(username), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                out.write(data);
+            }
+            if (token.isCancelled()) {
+                return;
+            }
+            Files.move(tmp, file(username), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * @return snapshot terakhir user, atau {@code null} bila belum ada
+     */
+    public Snapshot read(String username) throws IOException {
+        try {
+            // Dibaca utuh ke heap; mapping file akan menahan file terbuka
+            // (di Windows tidak bisa ditimpa) sampai buffer di-GC
+            return decode(ByteBuffer.wrap(Files.readAllBytes(file(username))));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private Path file(String username) {
+        return dir.resolve(fileName(username) + EXTENSION);
+    }
+
+    private static String fileName(String username) {
+        return username.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9._-]", "_");
+    }
+
+    static byte[] encode(List<Repo> repos, Instant savedAt) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Repo repo : repos) {
+            intern(repo.getName(), index, strings);
+            intern(repo.getDescription(), index, strings);
+            intern(repo.getLanguage(), index, strings);
+            intern(repo.getHtmlUrl(), index, strings);
+        }
+
+        Buffer out = new Buffer(64 + repos.size() * 48);
+        out.write(MAGIC);
+        out.write(FORMAT_VERSION);
+        out.writeVarLong(savedAt.getEpochSecond());
+        out.writeVarLong(strings.size());
+        for (String value : strings) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeVarLong(bytes.length);
+            out.write(bytes);
+        }
+        out.writeVarLong(repos.size());
+        for (Repo repo : repos) {
+            out.writeVarLong(repo.getId());
+            out.writeVarLong(ref(repo.getName(), index));
+            out.writeVarLong(ref(repo.getDescription(), index));
+            out.writeVarLong(ref(repo.getLanguage(), index));
+            out.writeVarLong(ref(repo.getHtmlUrl(), index));
+            out.writeVarLong(repo.getStargazersCount());
+            out.writeVarLong(repo.getForksCount());
+            out.write(repo.isPrivate() ? 1 : 0);
+            out.writeVarLong(repo.getUpdatedAt() != null ? repo.getUpdatedAt().getEpochSecond() + 1 : 0);
+        }
+        return out.toByteArray();
+    }
+
+    static Snapshot decode(ByteBuffer in) throws IOException {
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Bukan file snapshot repository");
+            }
+            int version = in.get();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Versi snapshot tidak dikenal: " + version);
+            }
+            Instant savedAt = Instant.ofEpochSecond(readVarLong(in));
+
+            String[] strings = new String[readCount(in)];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[readCount(in)];
+                in.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            int count = readCount(in);
+            List<Repo> repos = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Repo repo = new Repo();
+                repo.setId(readVarLong(in));
+                repo.setName(string(strings, in));
+                repo.setDescription(string(strings, in));
+                repo.setLanguage(string(strings, in));
+                repo.setHtmlUrl(string(strings, in));
+                repo.setStargazersCount((int) readVarLong(in));
+                repo.setForksCount((int) readVarLong(in));
+                repo.setPrivate((in.get() & 1) != 0);
+                long updated = readVarLong(in);
+                repo.setUpdatedAt(updated != 0 ? Instant.ofEpochSecond(updated - 1) : null);
+                repos.add(repo);
+            }
+            return new Snapshot(repos, savedAt);
+        } catch (RuntimeException e) {
+            // BufferUnderflowException, indeks string di luar batas, dll.
+            throw new IOException("Snapshot rusak: " + e, e);
+        }
+    }
+
+    private static void intern(String value, Map<String, Integer> index, List<String> strings) {
+        if (value != null && !index.containsKey(value)) {
+            index.put(value, strings.size());
+            strings.add(value);
+        }
+    }
+
+    private static long ref(String value, Map<String, Integer> index) {
+        return value == null ? 0 : index.get(value) + 1;
+    }
+
+    private static String string(String[] strings, ByteBuffer in) throws IOException {
+        int ref = readCount(in);
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    private static int readCount(ByteBuffer in) throws IOException {
+        long value = readVarLong(in);
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot rusak: jumlah tidak wajar " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Varint LEB128 tanpa tanda: 7 bit per byte, bit tertinggi menandakan masih ada lanjutan.
+     */
+    private static long readVarLong(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Snapshot rusak: varint terlalu panjang");
+    }
+
+    private static class Buffer {
+        private byte[] bytes;
+        private int size;
+
+        Buffer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void write(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void write(byte[] data) {
+            ensure(data.length);
+            System.arraycopy(data, 0, bytes, size, data.length);
+            size += data.length;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.Repo;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Urutan baca repository dari database. Setiap urutan memakai {@code id}
+ * sebagai pemecah seri sehingga posisi (nilai kolom, id) unik dan bisa
+ * dipakai sebagai cursor keyset untuk halaman berikutnya. SQLite dan MySQL
+ * sama-sama mengurutkan NULL sebagai nilai terkecil: di awal untuk urutan
+ * naik, di akhir untuk urutan turun.
+ */
+public enum RepoSort {
+    NAME("name", false) {
+        @Override
+        void bindKey(StorageBackend backend, PreparedStatement ps, int index, Repo repo) throws SQLException {
+            ps.setString(index, repo.getName());
+        }
+
+        @Override
+        boolean isKeyNull(Repo repo) {
+            return repo.getName() == null;
+        }
+    },
+    STARS("stars", true) {
+        @Override
+        void bindKey(StorageBackend backend, PreparedStatement ps, int index, Repo repo) throws SQLException {
+            ps.setInt(index, repo.getStargazersCount());
+        }
+    },
+    FORKS("forks", true) {
+        @Override
+        void bindKey(StorageBackend backend, PreparedStatement ps, int index, Repo repo) throws SQLException {
+            ps.setInt(index, repo.getForksCount());
+        }
+    },
+    UPDATED("updated_at", true) {
+        @Override
+        void bindKey(StorageBackend backend, PreparedStatement ps, int index, Repo repo) throws SQLException {
+            backend.setInstant(ps, index, repo.getUpdatedAt());
+        }
+
+        @Override
+        boolean isKeyNull(Repo repo) {
+            return repo.getUpdatedAt() == null;
+        }
+    };
+
+    private final String column;
+    private final boolean descending;
+
+    RepoSort(String column, boolean descending) {
+        this.column = column;
+        this.descending = descending;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    String orderBy() {
+        String direction = descending ? " DESC" : " ASC";
+        return column + direction + ", id" + direction;
+    }
+
+    /**
+     * Kondisi "setelah baris {@code after}". Perbandingan dengan NULL tidak
+     * pernah benar, jadi baris yang kolomnya NULL ditangani terpisah: bila
+     * {@code after} sendiri NULL parameternya hanya id, selain itu nilai
+     * kolom, nilai kolom, id.
+     */
+    String after(Repo after) {
+        String op = descending ? " < " : " > ";
+        String tieBreak = "(" + column + " IS NULL AND id" + op + "?)";
+        if (isKeyNull(after)) {
+            // Urutan naik: semua nilai bukan NULL masih di depan
+            return descending ? tieBreak : "(" + tieBreak + " OR " + column + " IS NOT NULL)";
+        }
+        String next = column + op + "? OR (" + column + " = ? AND id" + op + "?)";
+        // Urutan turun: semua baris NULL masih di depan
+        return descending ? "(" + next + " OR " + column + " IS NULL)" : "(" + next + ")";
+    }
+
+    abstract void bindKey(StorageBackend backend, PreparedStatement ps, int index, Repo repo) throws SQLException;
+
+    /**
+     * Stars dan forks selalu tersimpan sebagai angka, jadi hanya kolom
+     * teks dan waktu yang bisa NULL.
+     */
+    boolean isKeyNull(Repo repo) {
+        return false;
+    }
+
+    /**
+     * Mengisi parameter {@link #after(Repo)} mulai dari {@code index}.
+     *
+     * @return index parameter berikutnya
+     */
+    int bindAfter(StorageBackend backend, PreparedStatement ps, int index, Repo after) throws SQLException {
+        if (isKeyNull(after)) {
+            ps.setLong(index, after.getId());
+            return index + 1;
+        }
+        bindKey(backend, ps, index, after);
+        bindKey(backend, ps, index + 1, after);
+        ps.setLong(index + 2, after.getId());
+        return index + 3;
+    }
+}
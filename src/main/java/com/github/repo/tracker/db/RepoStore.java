@@ -0,0 +1,59 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.Repo;
+import com.github.repo.tracker.util.CancellationToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Penyimpanan lokal repository hasil pencarian. Method yang menerima
+ * {@link CancellationToken} menghentikan query-nya bila token dibatalkan.
+ */
+public interface RepoStore {
+
+    /**
+     * @return jumlah baris yang ditulis atau dihapus
+     */
+    int saveRepos(String username, List<Repo> repos);
+
+    List<Repo> loadRepos(String username);
+
+    /**
+     * @throws java.util.concurrent.CancellationException bila dibatalkan di tengah jalan
+     */
+    List<Repo> loadRepos(String username, CancellationToken token);
+
+    /**
+     * Waktu daftar repository user terakhir disimpan, atau {@code null} bila
+     * belum pernah. {@link Instant#EPOCH} berarti data tersimpan sebelum waktu
+     * sinkronisasi dicatat, jadi umurnya tidak diketahui.
+     */
+    Instant lastSynced(String username);
+
+    /**
+     * Halaman berikutnya setelah {@code after} dalam urutan {@code sort};
+     * {@code after} bernilai {@code null} untuk halaman pertama.
+     */
+    List<Repo> loadRepos(String username, RepoSort sort, Repo after, int limit, CancellationToken token);
+
+    /**
+     * Halaman pada posisi {@code offset}; untuk lompatan acak (mis. scrollbar
+     * ditarik jauh) saat baris sebelumnya belum diketahui.
+     */
+    List<Repo> loadReposAt(String username, RepoSort sort, int offset, int limit, CancellationToken token);
+
+    int countRepos(String username);
+
+    /**
+     * Semua username yang pernah tersimpan, dari tabel {@code repo} dan
+     * {@code users}; untuk saran saat mengetik.
+     */
+    List<String> loadUsernames();
+
+    /**
+     * Semua repository user tanpa dimuat sekaligus; stream harus ditutup.
+     */
+    Stream<Repo> streamRepos(String username, RepoSort sort, CancellationToken token);
+}
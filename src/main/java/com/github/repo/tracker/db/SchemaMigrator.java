@@ -0,0 +1,218 @@
+package com.github.repo.tracker.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Migrasi skema berversi. Versi yang sudah diterapkan dicatat di tabel
+ * {@code schema_version}; saat DAO pertama kali memakai sebuah pool, semua
+ * migrasi dengan versi lebih tinggi dijalankan berurutan, masing-masing dalam
+ * transaksinya sendiri. Migrasi baru selalu ditambahkan di akhir
+ * {@link #MIGRATIONS} dan skema hasil migrasi lama tidak pernah diubah.
+ * <p>
+ * Migrasi 1 dan 2 melewati tabel dan indeks yang sudah ada sehingga database
+ * yang dibuat sebelum ada tabel versi tetap dapat diadopsi.
+ */
+public final class SchemaMigrator {
+
+    @FunctionalInterface
+    private interface Step {
+        void apply(Statement st, StorageBackend backend) throws SQLException;
+    }
+
+    private static class Migration {
+        final int version;
+        final String description;
+        final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Tabel awal", SchemaMigrator::createTables),
+            new Migration(2, "Indeks repo per username untuk setiap urutan", SchemaMigrator::createRepoIndexes),
+            new Migration(3, "Waktu sinkronisasi repo per user", SchemaMigrator::createRepoSync),
+            new Migration(4, "Titik awal riwayat dipisahkan dari pertumbuhan", SchemaMigrator::markHistoryBaselines),
+            new Migration(5, "Waktu sinkronisasi untuk repo yang tersimpan sebelum versi 3", SchemaMigrator::seedRepoSync),
+            new Migration(6, "Tanggal author commit dipisahkan dari tanggal committer", SchemaMigrator::addCommitAuthorDate)
+    );
+
+    private static final Set<ConnectionPool> migrated = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Menjalankan migrasi yang belum diterapkan; panggilan berikutnya dengan
+     * pool yang sama tidak melakukan apa-apa.
+     */
+    public static synchronized void migrate(ConnectionPool pool) throws SQLException {
+        if (migrated.contains(pool)) {
+            return;
+        }
+        StorageBackend backend = pool.getBackend();
+        try (Connection conn = pool.getConnection()) {
+            try (Statement st = conn.createStatement()) {
+                st.execute("CREATE TABLE IF NOT EXISTS schema_version (version INT PRIMARY KEY, description VARCHAR(255), applied_at BIGINT NOT NULL)");
+            }
+            int current = currentVersion(conn);
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version <= current) {
+                    continue;
+                }
+                // DDL MySQL melakukan commit implisit; di SQLite seluruh migrasi atomik
+                conn.setAutoCommit(false);
+                try (Statement st = conn.createStatement();
+                     PreparedStatement ps = conn.prepareStatement(
+                             "INSERT INTO schema_version(version, description, applied_at) VALUES(?,?,?)")) {
+                    migration.step.apply(st, backend);
+                    ps.setInt(1, migration.version);
+                    ps.setString(2, migration.description);
+                    ps.setLong(3, Instant.now().getEpochSecond());
+                    ps.executeUpdate();
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw new SQLException("Gagal menjalankan migrasi " + migration.version + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        migrated.add(pool);
+    }
+
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    private static int currentVersion(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void createTables(Statement st, StorageBackend backend) throws SQLException {
+        st.execute("CREATE TABLE IF NOT EXISTS repo (id BIGINT PRIMARY KEY, username VARCHAR(255), name VARCHAR(255), description TEXT, language VARCHAR(100), stars INT, forks INT, private TINYINT(1), updated_at DATETIME, html_url VARCHAR(500), hash VARCHAR(64))");
+        st.execute("CREATE TABLE IF NOT EXISTS users (username VARCHAR(255) PRIMARY KEY, password VARCHAR(64) NOT NULL, created_at DATETIME DEFAULT CURRENT_TIMESTAMP)");
+        st.execute("CREATE TABLE IF NOT EXISTS commit_sync (owner VARCHAR(255) NOT NULL, repo VARCHAR(255) NOT NULL, backfilled TINYINT(1) NOT NULL, synced_at DATETIME, PRIMARY KEY (owner, repo))");
+        if (backend == StorageBackend.SQLITE) {
+            st.execute("CREATE TABLE IF NOT EXISTS repo_history (repo_id BIGINT NOT NULL, username VARCHAR(255) NOT NULL, captured_at BIGINT NOT NULL, granularity CHAR(1) NOT NULL, stars_delta INT NOT NULL, forks_delta INT NOT NULL)");
+            st.execute("CREATE INDEX IF NOT EXISTS idx_history_repo ON repo_history(repo_id, captured_at)");
+            st.execute("CREATE INDEX IF NOT EXISTS idx_history_user ON repo_history(username, captured_at)");
+            st.execute("CREATE TABLE IF NOT EXISTS commits (owner VARCHAR(255) NOT NULL, repo VARCHAR(255) NOT NULL, sha VARCHAR(40) NOT NULL, author VARCHAR(255), message TEXT, committed_at DATETIME, PRIMARY KEY (owner, repo, sha))");
+            st.execute("CREATE INDEX IF NOT EXISTS idx_commits_date ON commits(owner, repo, committed_at)");
+        } else {
+            st.execute("CREATE TABLE IF NOT EXISTS repo_history (repo_id BIGINT NOT NULL, username VARCHAR(255) NOT NULL, captured_at BIGINT NOT NULL, granularity CHAR(1) NOT NULL, stars_delta INT NOT NULL, forks_delta INT NOT NULL, INDEX idx_history_repo (repo_id, captured_at), INDEX idx_history_user (username, captured_at))");
+            st.execute("CREATE TABLE IF NOT EXISTS commits (owner VARCHAR(255) NOT NULL, repo VARCHAR(255) NOT NULL, sha VARCHAR(40) NOT NULL, author VARCHAR(255), message TEXT, committed_at DATETIME, PRIMARY KEY (owner, repo, sha), INDEX idx_commits_date (owner, repo, committed_at))");
+        }
+        // Nilai yang sudah ada di tabel repo menjadi titik awal riwayat,
+        // agar jumlah selisih sama dengan nilai sebenarnya
+        try (ResultSet rs = st.executeQuery("SELECT 1 FROM repo_history LIMIT 1")) {
+            if (rs.next()) {
+                return;
+            }
+        }
+        st.executeUpdate("INSERT INTO repo_history(repo_id, username, captured_at, granularity, stars_delta, forks_delta) "
+                + "SELECT id, username, " + Instant.now().getEpochSecond() + ", 'R', COALESCE(stars, 0), COALESCE(forks, 0) FROM repo");
+    }
+
+    /**
+     * Satu indeks {@code (username, kolom urutan)} untuk setiap {@link RepoSort}:
+     * pencarian per user menjadi range scan, dan ORDER BY ... LIMIT dibaca
+     * langsung dari indeks tanpa sort. Di InnoDB primary key {@code id} ikut
+     * di setiap indeks sekunder, jadi pemecah seri keyset juga tercakup. Di
+     * SQLite hanya {@code INTEGER PRIMARY KEY} yang menjadi alias rowid;
+     * {@code id BIGINT PRIMARY KEY} tidak, sehingga pemecah seri pada
+     * {@code id} dibaca dari tabel.
+     * <p>
+     * Indeks yang sudah ada (dibuat manual, atau migrasi yang terhenti setelah
+     * DDL MySQL ter-commit) dilewati. MySQL tidak punya
+     * {@code CREATE INDEX IF NOT EXISTS}, jadi diperiksa lewat
+     * {@code information_schema}.
+     */
+    private static void createRepoIndexes(Statement st, StorageBackend backend) throws SQLException {
+        for (RepoSort sort : RepoSort.values()) {
+            String index = "idx_repo_user_" + sort.name().toLowerCase(Locale.ROOT);
+            String columns = " ON repo(username, " + sort.getColumn() + ")";
+            if (backend == StorageBackend.SQLITE) {
+                st.execute("CREATE INDEX IF NOT EXISTS " + index + columns);
+            } else if (!mysqlIndexExists(st, "repo", index)) {
+                st.execute("CREATE INDEX " + index + columns);
+            }
+        }
+        if (backend == StorageBackend.SQLITE) {
+            // Sudah tercakup oleh prefiks indeks komposit di atas
+            st.execute("DROP INDEX IF EXISTS idx_repo_username");
+        }
+    }
+
+    private static boolean mysqlIndexExists(Statement st, String table, String index) throws SQLException {
+        try (ResultSet rs = st.executeQuery("SELECT 1 FROM information_schema.statistics WHERE table_schema = DATABASE() "
+                + "AND table_name = '" + table + "' AND index_name = '" + index + "' LIMIT 1")) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * Kapan daftar repository seorang user terakhir diambil dari GitHub. Tanpa
+     * ini user yang memang tidak punya repository tidak bisa dibedakan dari
+     * user yang belum pernah dicari.
+     */
+    private static void createRepoSync(Statement st, StorageBackend backend) throws SQLException {
+        st.execute("CREATE TABLE IF NOT EXISTS repo_sync (username VARCHAR(255) PRIMARY KEY, synced_at BIGINT NOT NULL)");
+    }
+
+    /**
+     * Repository yang tersimpan sebelum {@code repo_sync} ada tidak punya
+     * waktu sinkronisasi, sehingga tidak pernah dibaca dari database. Waktu
+     * yang sebenarnya tidak diketahui; isi dengan 0 agar datanya tetap
+     * dipakai tetapi dianggap basi dan langsung diperbarui di latar belakang.
+     */
+    private static void seedRepoSync(Statement st, StorageBackend backend) throws SQLException {
+        st.executeUpdate("INSERT INTO repo_sync(username, synced_at) SELECT username, 0 FROM repo "
+                + "WHERE username IS NOT NULL AND username NOT IN (SELECT username FROM repo_sync) GROUP BY username");
+    }
+
+    /**
+     * Titik pertama setiap repository di {@code repo_history} (hasil seed
+     * migrasi 1 atau repository yang baru terlihat) berisi seluruh nilainya,
+     * bukan pertumbuhan. Tandai sebagai titik awal ({@code B}) agar tidak
+     * dihitung dalam jendela pertumbuhan. Titik yang sudah digabung menjadi
+     * bucket harian/mingguan tidak bisa dipisahkan lagi dan dibiarkan.
+     */
+    private static void markHistoryBaselines(Statement st, StorageBackend backend) throws SQLException {
+        if (backend == StorageBackend.SQLITE) {
+            st.executeUpdate("UPDATE repo_history SET granularity = 'B' WHERE granularity = 'R' AND captured_at = "
+                    + "(SELECT MIN(h.captured_at) FROM repo_history h WHERE h.repo_id = repo_history.repo_id)");
+        } else {
+            // MySQL tidak mengizinkan subquery ke tabel yang sedang di-UPDATE kecuali lewat tabel turunan
+            st.executeUpdate("UPDATE repo_history h JOIN (SELECT repo_id, MIN(captured_at) AS first_at FROM repo_history GROUP BY repo_id) f "
+                    + "ON f.repo_id = h.repo_id AND f.first_at = h.captured_at SET h.granularity = 'B' WHERE h.granularity = 'R'");
+        }
+    }
+
+    /**
+     * {@code committed_at} kini berisi tanggal committer karena itulah yang
+     * difilter {@code since}/{@code until} GitHub; tanggal author pindah ke
+     * kolom sendiri. Baris lama hanya menyimpan tanggal author, jadi nilainya
+     * disalin ke kolom baru; {@code committed_at}-nya tetap tanggal author
+     * sampai commit itu tersimpan ulang.
+     */
+    private static void addCommitAuthorDate(Statement st, StorageBackend backend) throws SQLException {
+        st.execute("ALTER TABLE commits ADD COLUMN authored_at DATETIME");
+        st.executeUpdate("UPDATE commits SET authored_at = committed_at");
+    }
+}
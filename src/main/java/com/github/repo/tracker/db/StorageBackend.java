@@ -0,0 +1,126 @@
+package com.github.repo.tracker.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * Mesin database yang didukung beserta perbedaan SQL-nya. DAO ditulis sekali
+ * dan memakai method di sini untuk bagian yang berbeda antar mesin.
+ * <ul>
+ *     <li>{@link #MYSQL} - server MySQL/MariaDB (default).</li>
+ *     <li>{@link #SQLITE} - file tunggal lokal ({@code repos.db}), tanpa server.</li>
+ * </ul>
+ */
+public enum StorageBackend {
+
+    MYSQL("com.mysql.cj.jdbc.Driver",
+            // Cache prepared statement di sisi driver; koneksi yang di-pool tetap hidup
+            // sehingga statement yang sudah di-prepare dipakai ulang antar pemanggilan.
+            // useCursorFetch: setFetchSize memakai cursor di server, bukan memuat semua baris
+            "jdbc:mysql://localhost:8889/github_tracker?useSSL=false&serverTimezone=UTC"
+                    + "&cachePrepStmts=true&useServerPrepStmts=true&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048"
+                    + "&useCursorFetch=true") {
+
+        @Override
+        public String upsert(String table, String conflictKey, String... columns) {
+            return insert(table, columns) + " ON DUPLICATE KEY UPDATE " + Arrays.stream(columns)
+                    .filter(c -> !isKey(conflictKey, c))
+                    .map(c -> c + " = VALUES(" + c + ")")
+                    .collect(Collectors.joining(", "));
+        }
+    },
+
+    SQLITE("org.sqlite.JDBC", "jdbc:sqlite:repos.db") {
+
+        @Override
+        public String upsert(String table, String conflictKey, String... columns) {
+            return insert(table, columns) + " ON CONFLICT(" + conflictKey + ") DO UPDATE SET " + Arrays.stream(columns)
+                    .filter(c -> !isKey(conflictKey, c))
+                    .map(c -> c + " = excluded." + c)
+                    .collect(Collectors.joining(", "));
+        }
+
+        @Override
+        public void initConnection(Connection conn) throws SQLException {
+            try (Statement st = conn.createStatement()) {
+                // WAL: pembaca tidak terblokir penulis; NORMAL cukup aman di mode WAL
+                st.execute("PRAGMA journal_mode=WAL");
+                st.execute("PRAGMA synchronous=NORMAL");
+                st.execute("PRAGMA busy_timeout=5000");
+                st.execute("PRAGMA temp_store=MEMORY");
+                st.execute("PRAGMA cache_size=-16000");
+            }
+        }
+
+        // Disimpan sebagai teks ISO-8601, sama dengan isi repos.db yang sudah ada
+        @Override
+        public void setInstant(PreparedStatement ps, int index, Instant value) throws SQLException {
+            if (value == null) {
+                ps.setNull(index, Types.VARCHAR);
+            } else {
+                ps.setString(index, value.toString());
+            }
+        }
+
+        @Override
+        public Instant getInstant(ResultSet rs, String column) throws SQLException {
+            String value = rs.getString(column);
+            return value != null ? Instant.parse(value) : null;
+        }
+    };
+
+    private final String driverClass;
+    private final String defaultUrl;
+
+    StorageBackend(String driverClass, String defaultUrl) {
+        this.driverClass = driverClass;
+        this.defaultUrl = defaultUrl;
+    }
+
+    public String getDriverClass() {
+        return driverClass;
+    }
+
+    public String getDefaultUrl() {
+        return defaultUrl;
+    }
+
+    /**
+     * SQL insert-or-update untuk satu baris; {@code conflictKey} adalah kolom
+     * (dipisah koma) yang membentuk primary key.
+     */
+    public abstract String upsert(String table, String conflictKey, String... columns);
+
+    /**
+     * Dijalankan sekali untuk setiap koneksi fisik baru.
+     */
+    public void initConnection(Connection conn) throws SQLException {
+    }
+
+    public void setInstant(PreparedStatement ps, int index, Instant value) throws SQLException {
+        ps.setTimestamp(index, value != null ? Timestamp.from(value) : null);
+    }
+
+    public Instant getInstant(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toInstant() : null;
+    }
+
+    private static String insert(String table, String... columns) {
+        return "INSERT INTO " + table + "(" + String.join(", ", columns) + ") VALUES("
+                + String.join(",", Collections.nCopies(columns.length, "?")) + ")";
+    }
+
+    private static boolean isKey(String conflictKey, String column) {
+        return Arrays.stream(conflictKey.split(",")).map(String::trim).anyMatch(column::equals);
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.repo.tracker.db;
+
+/**
+ * Penyimpanan akun pengguna aplikasi.
+ */
+public interface UserStore {
+
+    boolean register(String username, String password);
+
+    boolean authenticate(String username, String password);
+}
@@ -0,0 +1,249 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.Commit;
+import com.github.repo.tracker.model.Repo;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Antrean tulis di belakang (write-behind) untuk data hasil fetch.
+ * Pemanggil hanya memasukkan data ke antrean berkapasitas tetap lalu lanjut;
+ * satu thread penulis mengambil beberapa entri sekaligus dan menyimpannya
+ * dalam satu transaksi. Bila antrean penuh, pemanggil menunggu
+ * (backpressure) sampai penulis mengejar. Entri dengan kunci yang sama dalam
+ * satu batch digabung, hanya yang terbaru yang ditulis.
+ */
+public class WriteBehindQueue {
+
+    private static final int CAPACITY = 256;
+    private static final int MAX_BATCH = 32;
+    private static final Duration EXIT_FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+    private static WriteBehindQueue shared;
+
+    private final ConnectionPool pool;
+    private final RepoDatabase repos;
+    private final CommitDatabase commits;
+    private final BlockingQueue<PendingWrite> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final Object flushLock = new Object();
+    private long pending;
+
+    private final AtomicLong committedBatches = new AtomicLong();
+    private final AtomicLong committedWrites = new AtomicLong();
+    private final AtomicLong totalCommitMillis = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicLong backpressureWaits = new AtomicLong();
+    private volatile long lastCommitMillis;
+
+    @FunctionalInterface
+    interface Write {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private static class PendingWrite {
+        final String key;
+        final Write write;
+
+        PendingWrite(String key, Write write) {
+            this.key = key;
+            this.write = write;
+        }
+    }
+
+    public WriteBehindQueue(ConnectionPool pool, RepoDatabase repos, CommitDatabase commits) {
+        this.pool = pool;
+        this.repos = repos;
+        this.commits = commits;
+        Thread writer = new Thread(this::writeLoop, "db-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static synchronized WriteBehindQueue shared() {
+        if (shared == null) {
+            ConnectionPool pool = ConnectionPool.shared();
+            WriteBehindQueue queue = new WriteBehindQueue(pool, new RepoDatabase(pool), new CommitDatabase(pool));
+            pool.beforeShutdown(() -> queue.flush(EXIT_FLUSH_TIMEOUT));
+            shared = queue;
+        }
+        return shared;
+    }
+
+    public void saveRepos(String username, List<Repo> list) throws InterruptedException {
+        List<Repo> copy = List.copyOf(list);
+        submit("repo:" + username, conn -> repos.saveRepos(conn, username, copy));
+    }
+
+    public RepoDatabase getRepoDatabase() {
+        return repos;
+    }
+
+    public CommitDatabase getCommitDatabase() {
+        return commits;
+    }
+
+    public void saveCommits(String owner, String repo, List<Commit> list) throws InterruptedException {
+        if (list.isEmpty()) {
+            return;
+        }
+        List<Commit> copy = List.copyOf(list);
+        // Satu kunci per halaman agar halaman berbeda tidak saling menggantikan
+        submit("commits:" + owner + "/" + repo + ":" + copy.get(0).getSha(), conn -> commits.saveCommits(conn, owner, repo, copy));
+    }
+
+    public void markCommitsBackfilled(String owner, String repo) throws InterruptedException {
+        submit("commit-sync:" + owner + "/" + repo, conn -> commits.markBackfilled(conn, owner, repo));
+    }
+
+    void submit(String key, Write write) throws InterruptedException {
+        synchronized (flushLock) {
+            pending++;
+        }
+        PendingWrite item = new PendingWrite(key, write);
+        if (!queue.offer(item)) {
+            backpressureWaits.incrementAndGet();
+            try {
+                queue.put(item);
+            } catch (InterruptedException e) {
+                done(1);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Menunggu sampai semua entri yang sudah masuk antrean selesai ditulis.
+     *
+     * @return {@code true} bila antrean kosong sebelum batas waktu
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (flushLock) {
+            while (pending > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(flushLock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            try {
+                commit(batch);
+            } finally {
+                done(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite> batch) {
+        // Entri terbaru untuk kunci yang sama menggantikan yang lebih lama di
+        // posisinya semula, jadi urutan tulis antarkunci tetap urutan masuk
+        Map<String, PendingWrite> latest = new LinkedHashMap<>();
+        for (PendingWrite item : batch) {
+            latest.put(item.key, item);
+        }
+        long start = System.nanoTime();
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (PendingWrite item : latest.values()) {
+                    item.write.apply(conn);
+                }
+                conn.commit();
+                recordCommit(start, latest.size());
+                return;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                e.printStackTrace();
+            }
+            // Batch gagal: ulangi satu per satu agar satu entri rusak tidak menggagalkan yang lain
+            for (PendingWrite item : latest.values()) {
+                long itemStart = System.nanoTime();
+                try {
+                    item.write.apply(conn);
+                    conn.commit();
+                    recordCommit(itemStart, 1);
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    failedWrites.incrementAndGet();
+                    System.err.println("Gagal menyimpan " + item.key + ": " + e.getMessage());
+                }
+            }
+        } catch (SQLException e) {
+            failedWrites.addAndGet(latest.size());
+            e.printStackTrace();
+        }
+    }
+
+    private void recordCommit(long startNanos, int writes) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        lastCommitMillis = millis;
+        totalCommitMillis.addAndGet(millis);
+        committedBatches.incrementAndGet();
+        committedWrites.addAndGet(writes);
+    }
+
+    private void done(int count) {
+        synchronized (flushLock) {
+            pending -= count;
+            flushLock.notifyAll();
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getCommittedBatches() {
+        return committedBatches.get();
+    }
+
+    public long getCommittedWrites() {
+        return committedWrites.get();
+    }
+
+    public long getFailedWrites() {
+        return failedWrites.get();
+    }
+
+    public long getBackpressureWaits() {
+        return backpressureWaits.get();
+    }
+
+    public long getLastCommitMillis() {
+        return lastCommitMillis;
+    }
+
+    public double getAverageCommitMillis() {
+        long batches = committedBatches.get();
+        return batches == 0 ? 0 : (double) totalCommitMillis.get() / batches;
+    }
+}
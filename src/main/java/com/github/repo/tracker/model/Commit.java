@@ -1,30 +1,56 @@
 package com.github.repo.tracker.model;
 
+import java.io.Serializable;
 import java.time.Instant;
 
-public class Commit {
+public class Commit implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private CommitDetails commit;
     private String sha;
 
-    public static class CommitDetails {
+    public static class CommitDetails implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         private CommitAuthor author;
+        private CommitAuthor committer;
         private String message;
 
         public CommitAuthor getAuthor() { return author; }
+        public CommitAuthor getCommitter() { return committer; }
         public String getMessage() { return message; }
+        public void setAuthor(CommitAuthor author) { this.author = author; }
+        public void setCommitter(CommitAuthor committer) { this.committer = committer; }
+        public void setMessage(String message) { this.message = message; }
     }
 
-    public static class CommitAuthor {
+    public static class CommitAuthor implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         private String name;
         private Instant date;
 
         public String getName() { return name; }
         public Instant getDate() { return date; }
+        public void setName(String name) { this.name = name; }
+        public void setDate(Instant date) { this.date = date; }
     }
 
     public String getSha() { return sha; }
+    public void setSha(String sha) { this.sha = sha; }
+    public void setCommit(CommitDetails commit) { this.commit = commit; }
     public String getAuthorName() { return commit.getAuthor().getName(); }
     public String getMessage() { return commit.getMessage(); }
     public Instant getDate() { return commit.getAuthor().getDate(); }
+
+    /**
+     * Tanggal committer, yang dipakai GitHub untuk filter {@code since}/{@code until}.
+     * Berbeda dari tanggal author setelah rebase atau cherry-pick; bila tidak
+     * ada, tanggal author yang dipakai.
+     */
+    public Instant getCommittedAt() {
+        CommitAuthor committer = commit.getCommitter();
+        return committer != null && committer.getDate() != null ? committer.getDate() : getDate();
+    }
 } 
\ No newline at end of file
@@ -2,7 +2,12 @@ package com.github.repo.tracker.model;
 
 import com.google.gson.annotations.SerializedName;
 
-public class GitHubUser {
+import java.io.Serializable;
+
+public class GitHubUser implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private String login;
     private String name;
     private String bio;
@@ -4,6 +4,7 @@ import com.google.gson.annotations.SerializedName;
 
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.Objects;
 
 /**
  * Representasi sederhana dari sebuah repository GitHub.
@@ -108,6 +109,35 @@ public class Repo implements Serializable {
         this.htmlUrl = htmlUrl;
     }
 
+    /**
+     * Dua repository sama bila semua kolomnya sama; dipakai untuk mendeteksi
+     * baris yang berubah setelah data diperbarui.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Repo)) {
+            return false;
+        }
+        Repo other = (Repo) o;
+        return id == other.id
+                && stargazersCount == other.stargazersCount
+                && forksCount == other.forksCount
+                && isPrivate == other.isPrivate
+                && Objects.equals(name, other.name)
+                && Objects.equals(description, other.description)
+                && Objects.equals(language, other.language)
+                && Objects.equals(updatedAt, other.updatedAt)
+                && Objects.equals(htmlUrl, other.htmlUrl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, stargazersCount, forksCount, updatedAt);
+    }
+
     @Override
     public String toString() {
         return name + " (⭐" + stargazersCount + ")";
@@ -0,0 +1,40 @@
+package com.github.repo.tracker.model;
+
+/**
+ * Pertambahan bintang dan fork sebuah repository dalam rentang waktu tertentu.
+ */
+public class RepoGrowth {
+
+    private final long repoId;
+    private final String name;
+    private final int starsGained;
+    private final int forksGained;
+
+    public RepoGrowth(long repoId, String name, int starsGained, int forksGained) {
+        this.repoId = repoId;
+        this.name = name;
+        this.starsGained = starsGained;
+        this.forksGained = forksGained;
+    }
+
+    public long getRepoId() {
+        return repoId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getStarsGained() {
+        return starsGained;
+    }
+
+    public int getForksGained() {
+        return forksGained;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (+" + starsGained + "⭐)";
+    }
+}
@@ -0,0 +1,277 @@
+package com.github.repo.tracker.network;
+
+import com.github.repo.tracker.util.HashUtil;
+import com.github.repo.tracker.util.IoExecutor;
+import com.github.repo.tracker.util.LruCache;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache avatar user dengan dua tingkat: gambar hasil decode di memori (LRU
+ * yang dibatasi jumlah byte piksel) dan file asli dari GitHub di direktori
+ * {@code avatars/}. Avatar diminta langsung dalam ukuran {@link #SIZE}
+ * ({@code ?s=80}) sehingga tidak perlu diperkecil, lalu di-decode di luar EDT
+ * menjadi {@link BufferedImage} yang kompatibel dengan layar.
+ * <p>
+ * File di disk yang lebih tua dari {@link #REVALIDATE_AFTER} tetap dipakai,
+ * sementara request kondisional (ETag / Last-Modified) dikirim di latar
+ * belakang; respons 304 hanya memperbarui waktu file.
+ */
+public class AvatarCache {
+
+    public static final int SIZE = 80;
+    public static final Duration REVALIDATE_AFTER = Duration.ofDays(1);
+
+    private static final Path DEFAULT_DIR = Paths.get("avatars");
+    private static final long MAX_MEMORY_BYTES = 16L * 1024 * 1024;
+    private static final String IMAGE_EXTENSION = ".img";
+    private static final String META_EXTENSION = ".meta";
+
+    private static AvatarCache shared;
+
+    private final Path dir;
+    private final HttpClient httpClient;
+    private final LruCache<String, BufferedImage> memory =
+            new LruCache<>(MAX_MEMORY_BYTES, image -> (long) image.getWidth() * image.getHeight() * 4);
+    private final Map<String, CompletableFuture<BufferedImage>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong downloads = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+
+    public AvatarCache(Path dir, HttpClient httpClient) {
+        this.dir = dir;
+        this.httpClient = httpClient;
+    }
+
+    public static synchronized AvatarCache shared() {
+        if (shared == null) {
+            // Server avatar tidak memakai kuota API, jadi tidak lewat RequestScheduler
+            shared = new AvatarCache(DEFAULT_DIR, HttpClient.newBuilder()
+                    .executor(IoExecutor.executor())
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build());
+        }
+        return shared;
+    }
+
+    /**
+     * Avatar yang sudah ada di memori, tanpa I/O; aman dipanggil dari EDT.
+     */
+    public BufferedImage getIfPresent(String avatarUrl) {
+        BufferedImage image = memory.get(sizedUrl(avatarUrl));
+        if (image != null) {
+            memoryHits.incrementAndGet();
+        }
+        return image;
+    }
+
+    /**
+     * Memuat avatar dari memori, disk, atau GitHub (dalam urutan itu).
+     */
+    public CompletableFuture<BufferedImage> load(String avatarUrl) {
+        String url = sizedUrl(avatarUrl);
+        BufferedImage cached = memory.get(url);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<BufferedImage> leader = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> existing = inFlight.putIfAbsent(url, leader);
+        if (existing != null) {
+            return existing.copy();
+        }
+        IoExecutor.supply(() -> loadLocalOrFetch(url)).whenComplete((image, error) -> {
+            inFlight.remove(url, leader);
+            if (error != null) {
+                leader.completeExceptionally(error);
+            } else {
+                leader.complete(image);
+            }
+        });
+        return leader.copy();
+    }
+
+    static String sizedUrl(String avatarUrl) {
+        return avatarUrl + (avatarUrl.indexOf('?') >= 0 ? "&" : "?") + "s=" + SIZE;
+    }
+
+    private BufferedImage loadLocalOrFetch(String url) throws IOException, InterruptedException {
+        String name = HashUtil.sha256(url);
+        Path imageFile = dir.resolve(name + IMAGE_EXTENSION);
+        Path metaFile = dir.resolve(name + META_EXTENSION);
+
+        byte[] bytes;
+        FileTime checkedAt;
+        try {
+            bytes = Files.readAllBytes(imageFile);
+            checkedAt = Files.getLastModifiedTime(imageFile);
+        } catch (NoSuchFileException e) {
+            bytes = null;
+            checkedAt = null;
+        }
+
+        if (bytes != null) {
+            BufferedImage image = decode(bytes);
+            if (image != null) {
+                diskHits.incrementAndGet();
+                memory.put(url, image);
+                if (checkedAt.toInstant().plus(REVALIDATE_AFTER).isBefore(Instant.now())) {
+                    IoExecutor.supply(() -> revalidate(url, imageFile, metaFile)).whenComplete((updated, error) -> {
+                        if (error != null) {
+                            System.err.println("Gagal memeriksa avatar " + url + ": " + error.getMessage());
+                        }
+                    });
+                }
+                return image;
+            }
+            // File rusak: unduh ulang tanpa validator
+            Files.deleteIfExists(metaFile);
+        }
+        downloads.incrementAndGet();
+        return fetch(url, imageFile, metaFile, null);
+    }
+
+    private BufferedImage revalidate(String url, Path imageFile, Path metaFile) throws IOException, InterruptedException {
+        revalidations.incrementAndGet();
+        List<String> validators;
+        try {
+            validators = Files.readAllLines(metaFile, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            validators = List.of();
+        }
+        return fetch(url, imageFile, metaFile, validators);
+    }
+
+    /**
+     * Mengunduh avatar; bila {@code validators} berisi ETag / Last-Modified
+     * sebelumnya, request dikirim kondisional dan 304 mengembalikan gambar
+     * yang sudah ada.
+     */
+    private BufferedImage fetch(String url, Path imageFile, Path metaFile, List<String> validators)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().uri(URI.create(url)).GET();
+        if (validators != null) {
+            if (validators.size() > 0 && !validators.get(0).isEmpty()) {
+                builder.header("If-None-Match", validators.get(0));
+            } else if (validators.size() > 1 && !validators.get(1).isEmpty()) {
+                builder.header("If-Modified-Since", validators.get(1));
+            }
+        }
+        HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() == 304) {
+            Files.setLastModifiedTime(imageFile, FileTime.from(Instant.now()));
+            return memory.get(url);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("Gagal mengambil avatar (HTTP " + response.statusCode() + ")");
+        }
+        BufferedImage image = decode(response.body());
+        if (image == null) {
+            throw new IOException("Format avatar tidak dikenali");
+        }
+        memory.put(url, image);
+
+        Files.createDirectories(dir);
+        write(imageFile, response.body());
+        String etag = response.headers().firstValue("ETag").orElse("");
+        String lastModified = response.headers().firstValue("Last-Modified").orElse("");
+        write(metaFile, (etag + "\n" + lastModified + "\n").getBytes(StandardCharsets.UTF_8));
+        return image;
+    }
+
+    private static void write(Path file, byte[] bytes) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, bytes);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Men-decode gambar lalu menggambarnya ke image yang formatnya sama
+     * dengan layar, sehingga Swing tidak perlu mengonversi setiap repaint.
+     * Mengembalikan {@code null} bila data bukan gambar.
+     */
+    static BufferedImage decode(byte[] bytes) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(bytes));
+        if (source == null) {
+            return null;
+        }
+        BufferedImage target;
+        if (GraphicsEnvironment.isHeadless()) {
+            target = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB_PRE);
+        } else {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            target = config.createCompatibleImage(SIZE, SIZE, Transparency.TRANSLUCENT);
+        }
+        // Biasanya ukurannya sudah pas; bila server mengabaikan ?s=, perkecil
+        // bertahap setengahnya agar bilinear tetap halus tanpa SCALE_SMOOTH
+        while (source.getWidth() >= SIZE * 2 && source.getHeight() >= SIZE * 2) {
+            BufferedImage half = new BufferedImage(source.getWidth() / 2, source.getHeight() / 2, BufferedImage.TYPE_INT_ARGB_PRE);
+            draw(source, half);
+            source = half;
+        }
+        draw(source, target);
+        return target;
+    }
+
+    private static void draw(BufferedImage source, BufferedImage target) {
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, target.getWidth(), target.getHeight(), null);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getDownloads() {
+        return downloads.get();
+    }
+
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    public long getMemoryBytes() {
+        return memory.getWeight();
+    }
+}
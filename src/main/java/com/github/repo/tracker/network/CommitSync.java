@@ -0,0 +1,179 @@
+package com.github.repo.tracker.network;
+
+import com.github.repo.tracker.db.CommitDatabase;
+import com.github.repo.tracker.db.WriteBehindQueue;
+import com.github.repo.tracker.model.Commit;
+import com.github.repo.tracker.network.RequestScheduler.Priority;
+import com.github.repo.tracker.util.CancellationToken;
+import com.github.repo.tracker.util.IoExecutor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Sinkronisasi commit secara bertahap ke {@link CommitDatabase}.
+ * Fase inkremental hanya meminta commit sejak commit terbaru yang tersimpan
+ * dan berhenti begitu SHA yang sudah tersimpan muncul; tanpa data lokal, fase
+ * ini cukup mengambil halaman pertama. Setiap halaman langsung diteruskan
+ * ke pemanggil begitu tiba.
+ * <p>
+ * Backfill riwayat lama berjalan terpisah di latar belakang dengan prioritas
+ * {@link Priority#BACKGROUND}, mundur dari commit tertua yang tersimpan.
+ * Commit tertua itu sekaligus menjadi kursornya: setiap halaman disimpan
+ * begitu tiba, jadi backfill yang terhenti (aplikasi ditutup, timeout, atau
+ * batas {@link #MAX_BACKFILL_PAGES} per jalan, atau dibatalkan lewat token)
+ * dilanjutkan dari sana pada sinkronisasi berikutnya.
+ */
+public class CommitSync {
+
+    private static final int MAX_BACKFILL_PAGES = 50;
+    private static final Duration BACKFILL_TIMEOUT = Duration.ofMinutes(30);
+
+    // Repository yang backfill-nya sedang berjalan; satu backfill per repository
+    private static final Set<String> backfilling = ConcurrentHashMap.newKeySet();
+
+    private final GithubService service;
+    private final CommitDatabase db;
+    private final WriteBehindQueue queue;
+
+    public CommitSync(GithubService service) {
+        this(service, WriteBehindQueue.shared());
+    }
+
+    public CommitSync(GithubService service, WriteBehindQueue queue) {
+        this.service = service;
+        this.queue = queue;
+        this.db = queue.getCommitDatabase();
+    }
+
+    public List<Commit> loadLocal(String owner, String repo, int limit) {
+        return db.loadCommits(owner, repo, limit);
+    }
+
+    /**
+     * Mengambil commit baru dan mengantrekannya untuk ditulis, lalu memulai
+     * backfill di latar belakang bila riwayat lama belum lengkap. Setiap
+     * halaman (termasuk dari backfill) diteruskan ke {@code onPage} dari
+     * thread I/O. Membatalkan {@code token} juga menghentikan backfill itu.
+     *
+     * @return commit baru dari fase inkremental, terbaru lebih dulu
+     */
+    public List<Commit> sync(String owner, String repo, CancellationToken token, Consumer<? super List<Commit>> onPage)
+            throws IOException, InterruptedException {
+        CommitDatabase.SyncState state = db.loadSyncState(owner, repo);
+        List<Commit> fresh = new ArrayList<>();
+        Instant oldest = state.oldestDate;
+        boolean backfilled = state.backfilled;
+
+        if (state.newestSha != null) {
+            for (int page = 1; ; page++) {
+                List<Commit> commits = service.fetchCommitPage(owner, repo, state.newestDate, null, page, Priority.INTERACTIVE, token);
+                // Bukan hanya commit terbaru: setelah force-push commit itu bisa hilang
+                // dari riwayat, dan commit tersimpan lain menjadi batasnya
+                Set<String> known = db.knownShas(owner, repo, commits);
+                List<Commit> unseen = new ArrayList<>();
+                boolean reachedKnown = false;
+                for (Commit commit : commits) {
+                    if (known.contains(commit.getSha())) {
+                        reachedKnown = true;
+                        break;
+                    }
+                    unseen.add(commit);
+                }
+                queue.saveCommits(owner, repo, unseen);
+                fresh.addAll(unseen);
+                if (!unseen.isEmpty()) {
+                    onPage.accept(unseen);
+                }
+                if (reachedKnown || commits.size() < GithubService.PER_PAGE) {
+                    break;
+                }
+            }
+        } else {
+            // Tanpa data lokal, halaman pertama adalah yang sedang ditunggu pengguna
+            List<Commit> commits = service.fetchCommitPage(owner, repo, null, null, 1, Priority.INTERACTIVE, token);
+            queue.saveCommits(owner, repo, commits);
+            fresh.addAll(commits);
+            onPage.accept(commits);
+            if (commits.size() < GithubService.PER_PAGE) {
+                queue.markCommitsBackfilled(owner, repo);
+                backfilled = true;
+            } else {
+                oldest = oldestDate(commits, null);
+            }
+        }
+
+        if (!backfilled && oldest != null) {
+            backfill(owner, repo, oldest, token, onPage).whenComplete((ignored, error) -> {
+                if (error != null && !token.isCancelled()) {
+                    System.err.println("Gagal melengkapi riwayat commit " + owner + "/" + repo + ": " + error.getMessage());
+                }
+            });
+        }
+        return fresh;
+    }
+
+    /**
+     * Menjalankan backfill mundur dari {@code until} di latar belakang, kecuali
+     * backfill untuk repository yang sama sedang berjalan.
+     */
+    CompletableFuture<Void> backfill(String owner, String repo, Instant until, CancellationToken token,
+                                     Consumer<? super List<Commit>> onPage) {
+        String key = (owner + "/" + repo).toLowerCase(Locale.ROOT);
+        if (!backfilling.add(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return IoExecutor.supply(() -> {
+            try {
+                runBackfill(owner, repo, until, token, onPage);
+                return null;
+            } finally {
+                backfilling.remove(key);
+            }
+        }, BACKFILL_TIMEOUT);
+    }
+
+    private void runBackfill(String owner, String repo, Instant until, CancellationToken token,
+                             Consumer<? super List<Commit>> onPage) throws IOException, InterruptedException {
+        int page = 1;
+        for (int fetched = 0; fetched < MAX_BACKFILL_PAGES; fetched++) {
+            token.throwIfCancelled();
+            List<Commit> commits = service.fetchCommitPage(owner, repo, null, until, page, Priority.BACKGROUND, token);
+            queue.saveCommits(owner, repo, commits);
+            onPage.accept(commits);
+            if (commits.size() < GithubService.PER_PAGE) {
+                queue.markCommitsBackfilled(owner, repo);
+                return;
+            }
+            // Lanjut dari commit tertua halaman ini, sama seperti saat dilanjutkan nanti;
+            // bila semua commit di halaman bertanggal sama, geser halaman saja
+            Instant oldest = oldestDate(commits, until);
+            if (oldest.isBefore(until)) {
+                until = oldest;
+                page = 1;
+            } else {
+                page++;
+            }
+        }
+    }
+
+    private static Instant oldestDate(List<Commit> commits, Instant fallback) {
+        Instant oldest = fallback;
+        for (Commit commit : commits) {
+            // GitHub memfilter until/since dengan tanggal committer, bukan author
+            Instant date = commit.getCommittedAt();
+            if (date != null && (oldest == null || date.isBefore(oldest))) {
+                oldest = date;
+            }
+        }
+        return oldest;
+    }
+}
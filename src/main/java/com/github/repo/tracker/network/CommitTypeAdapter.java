@@ -0,0 +1,107 @@
+package com.github.repo.tracker.network;
+
+import com.github.repo.tracker.model.Commit;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Adapter streaming untuk {@link Commit} beserta objek bersarang
+ * {@code commit}, {@code commit.author}, dan {@code commit.committer}. Data
+ * lain (tree, parents, stats, dll.) dilewati.
+ */
+class CommitTypeAdapter extends TypeAdapter<Commit> {
+
+    @Override
+    public Commit read(JsonReader in) throws IOException {
+        if (JsonFields.skipNull(in)) {
+            return null;
+        }
+        Commit commit = new Commit();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "sha":
+                    commit.setSha(JsonFields.nextString(in));
+                    break;
+                case "commit":
+                    commit.setCommit(readDetails(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return commit;
+    }
+
+    private Commit.CommitDetails readDetails(JsonReader in) throws IOException {
+        if (JsonFields.skipNull(in)) {
+            return null;
+        }
+        Commit.CommitDetails details = new Commit.CommitDetails();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "author":
+                    details.setAuthor(readAuthor(in));
+                    break;
+                case "committer":
+                    details.setCommitter(readAuthor(in));
+                    break;
+                case "message":
+                    details.setMessage(JsonFields.nextString(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return details;
+    }
+
+    private Commit.CommitAuthor readAuthor(JsonReader in) throws IOException {
+        if (JsonFields.skipNull(in)) {
+            return null;
+        }
+        Commit.CommitAuthor author = new Commit.CommitAuthor();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "name":
+                    author.setName(JsonFields.nextString(in));
+                    break;
+                case "date":
+                    author.setDate(JsonFields.nextInstant(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return author;
+    }
+
+    @Override
+    public void write(JsonWriter out, Commit commit) throws IOException {
+        if (commit == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("sha").value(commit.getSha());
+        out.name("commit").beginObject();
+        out.name("author").beginObject();
+        out.name("name").value(commit.getAuthorName());
+        JsonFields.writeInstant(out, "date", commit.getDate());
+        out.endObject();
+        out.name("committer").beginObject();
+        JsonFields.writeInstant(out, "date", commit.getCommittedAt());
+        out.endObject();
+        out.name("message").value(commit.getMessage());
+        out.endObject();
+        out.endObject();
+    }
+}
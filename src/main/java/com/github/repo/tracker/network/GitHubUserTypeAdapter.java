@@ -0,0 +1,70 @@
+package com.github.repo.tracker.network;
+
+import com.github.repo.tracker.model.GitHubUser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Adapter streaming untuk {@link GitHubUser}; field lain dari endpoint
+ * {@code /users/{username}} dilewati.
+ */
+class GitHubUserTypeAdapter extends TypeAdapter<GitHubUser> {
+
+    @Override
+    public GitHubUser read(JsonReader in) throws IOException {
+        if (JsonFields.skipNull(in)) {
+            return null;
+        }
+        GitHubUser user = new GitHubUser();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "login":
+                    user.setLogin(JsonFields.nextString(in));
+                    break;
+                case "name":
+                    user.setName(JsonFields.nextString(in));
+                    break;
+                case "bio":
+                    user.setBio(JsonFields.nextString(in));
+                    break;
+                case "avatar_url":
+                    user.setAvatarUrl(JsonFields.nextString(in));
+                    break;
+                case "public_repos":
+                    user.setPublicRepos(JsonFields.nextInt(in));
+                    break;
+                case "followers":
+                    user.setFollowers(JsonFields.nextInt(in));
+                    break;
+                case "following":
+                    user.setFollowing(JsonFields.nextInt(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return user;
+    }
+
+    @Override
+    public void write(JsonWriter out, GitHubUser user) throws IOException {
+        if (user == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("login").value(user.getLogin());
+        out.name("name").value(user.getName());
+        out.name("bio").value(user.getBio());
+        out.name("avatar_url").value(user.getAvatarUrl());
+        out.name("public_repos").value(user.getPublicRepos());
+        out.name("followers").value(user.getFollowers());
+        out.name("following").value(user.getFollowing());
+        out.endObject();
+    }
+}
@@ -3,91 +3,524 @@ package com.github.repo.tracker.network;
 import com.github.repo.tracker.model.Commit;
 import com.github.repo.tracker.model.GitHubUser;
 import com.github.repo.tracker.model.Repo;
+import com.github.repo.tracker.network.RequestScheduler.Priority;
+import com.github.repo.tracker.util.CancellationToken;
+import com.github.repo.tracker.util.SingleFlight;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Serializable;
 import java.net.URI;
-import java.net.http.HttpClient;
+import java.net.URLEncoder;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class GithubService {
 
     private static final String API_BASE = "https://api.github.com";
+    static final int PER_PAGE = 100;
+    // Batas jumlah halaman yang diambil bersamaan agar tidak membanjiri API
+    private static final int MAX_PARALLEL_PAGES = 8;
+    private static final Pattern LAST_PAGE_LINK = Pattern.compile("<([^>]+)>;\\s*rel=\"last\"");
+    private static final Pattern PAGE_PARAM = Pattern.compile("[?&]page=(\\d+)");
 
-    private final HttpClient httpClient;
+    private final RequestScheduler scheduler;
     private final Gson gson;
+    private final HttpCache cache;
+    // Request yang sedang berjalan, dikunci dengan URL kanonik
+    private final SingleFlight<String, Page<?>> inFlight = new SingleFlight<>();
 
     public GithubService() {
-        this.httpClient = HttpClient.newHttpClient();
+        this(HttpCache.shared(), RequestScheduler.shared());
+    }
+
+    public GithubService(HttpCache cache, RequestScheduler scheduler) {
+        this.scheduler = scheduler;
+        this.cache = cache;
         this.gson = new GsonBuilder()
-            .registerTypeAdapter(Instant.class, new JsonDeserializer<Instant>() {
-                @Override
-                public Instant deserialize(JsonElement json, java.lang.reflect.Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-                    return Instant.parse(json.getAsString());
-                }
-            })
+            .registerTypeAdapter(Repo.class, new RepoTypeAdapter())
+            .registerTypeAdapter(Commit.class, new CommitTypeAdapter())
+            .registerTypeAdapter(GitHubUser.class, new GitHubUserTypeAdapter())
             .create();
     }
 
+    public HttpCache getCache() {
+        return cache;
+    }
+
+    public RequestScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Jumlah request yang tidak dikirim karena menumpang request identik yang sedang berjalan.
+     */
+    public long getCoalescedRequests() {
+        return inFlight.getCoalesced();
+    }
+
     public GitHubUser fetchUser(String username) throws IOException, InterruptedException {
-        String url = String.format("%s/users/%s", API_BASE, username);
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Accept", "application/vnd.github+json")
-                .build();
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        
-        switch (response.statusCode()) {
-            case 200:
-                return gson.fromJson(response.body(), GitHubUser.class);
-            case 404:
-                throw new IOException("User '" + username + "' tidak ditemukan di GitHub");
-            case 403:
-                throw new IOException("Rate limit terlampaui. Silakan coba lagi nanti");
-            case 401:
-                throw new IOException("Akses tidak diizinkan. Periksa kembali username");
-            default:
-                throw new IOException("Gagal mengambil data user: HTTP " + response.statusCode());
+        return fetchUser(username, Priority.INTERACTIVE);
+    }
+
+    public GitHubUser fetchUser(String username, Priority priority) throws IOException, InterruptedException {
+        return fetchUser(username, priority, CancellationToken.NONE);
+    }
+
+    public GitHubUser fetchUser(String username, Priority priority, CancellationToken token) throws IOException, InterruptedException {
+        return call(token, callToken -> getAsync(userUrl(username), priority, callToken, true, status -> {
+            switch (status) {
+                case 404:
+                    return new IOException("User '" + username + "' tidak ditemukan di GitHub");
+                case 403:
+                    return new IOException("Rate limit terlampaui. Silakan coba lagi nanti");
+                case 401:
+                    return new IOException("Akses tidak diizinkan. Periksa kembali username");
+                default:
+                    return new IOException("Gagal mengambil data user: HTTP " + status);
+            }
+        }, reader -> gson.<GitHubUser>fromJson(reader, GitHubUser.class), cached -> { })).value;
+    }
+
+    /**
+     * Profil terakhir yang tersimpan di {@link HttpCache} tanpa mengirim request;
+     * {@code null} bila user belum pernah diambil.
+     */
+    public GitHubUser cachedUser(String username) {
+        Serializable value = cache.peek(userUrl(username));
+        return value instanceof GitHubUser user ? user : null;
+    }
+
+    private static String userUrl(String username) {
+        // Username GitHub tidak membedakan huruf besar/kecil; satu URL per user agar cache terpakai
+        return String.format("%s/users/%s", API_BASE, username.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Hasil pencarian user GitHub berdasarkan login.
+     */
+    public static class UserSearch implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<String> logins;
+        private final boolean complete;
+
+        UserSearch(ArrayList<String> logins, boolean complete) {
+            this.logins = logins;
+            this.complete = complete;
+        }
+
+        public List<String> getLogins() {
+            return logins;
         }
+
+        /**
+         * {@code true} bila semua user yang cocok ada di {@link #getLogins()},
+         * sehingga awalan yang lebih panjang cukup disaring dari hasil ini.
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+
+    /**
+     * Mencari user yang login-nya mengandung {@code query} lewat endpoint
+     * search. Endpoint ini punya kuota sendiri yang jauh lebih kecil dari
+     * kuota utama, jadi pemanggil harus membatasi frekuensinya.
+     */
+    public UserSearch searchUsers(String query, int limit, Priority priority, CancellationToken token)
+            throws IOException, InterruptedException {
+        String url = String.format("%s/search/users?q=%s+in:login&per_page=%d",
+                API_BASE, URLEncoder.encode(query, StandardCharsets.UTF_8), limit);
+        // Hasil search tidak punya validator yang bisa dipakai ulang; jangan disimpan di cache
+        return call(token, callToken -> getAsync(url, priority, callToken, false, status -> new IOException("Gagal mencari user: HTTP " + status),
+                this::readUserSearch, cached -> { })).value;
     }
 
     public List<Repo> fetchRepos(String username) throws IOException, InterruptedException {
-        String url = String.format("%s/users/%s/repos?per_page=100&sort=updated", API_BASE, username);
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("Accept", "application/vnd.github+json")
-                .build();
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() != 200) {
-            throw new IOException("Gagal mengambil data: " + response.statusCode());
+        return fetchRepos(username, Priority.INTERACTIVE);
+    }
+
+    public List<Repo> fetchRepos(String username, Priority priority) throws IOException, InterruptedException {
+        List<Repo> result = new ArrayList<>();
+        streamRepos(username, priority, result::add);
+        return result;
+    }
+
+    /**
+     * Mengambil semua repository milik user dan mengirimkannya ke
+     * {@code consumer} sesuai urutan dari GitHub, per halaman yang sudah
+     * selesai di-parse. Halaman pertama dibaca lebih dulu untuk mengetahui
+     * halaman terakhir dari header {@code Link}, lalu sisa halaman diambil
+     * secara paralel (maksimal {@link #MAX_PARALLEL_PAGES}).
+     */
+    public void streamRepos(String username, Priority priority, Consumer<? super Repo> consumer) throws IOException, InterruptedException {
+        streamRepoPages(username, priority, CancellationToken.NONE, page -> page.forEach(consumer));
+    }
+
+    /**
+     * Seperti {@link #streamRepos}, namun tiap halaman diteruskan utuh begitu
+     * selesai di-parse dan semua halaman sebelumnya sudah diteruskan, sehingga
+     * pemanggil bisa menampilkannya per halaman sesuai urutan.
+     * Membatalkan {@code token} menghentikan semua halaman yang belum selesai;
+     * begitu pula bila satu halaman gagal, {@code consumer} melempar exception,
+     * atau thread pemanggil di-interrupt.
+     */
+    public void streamRepoPages(String username, Priority priority, CancellationToken token, Consumer<? super List<Repo>> consumer)
+            throws IOException, InterruptedException {
+        // Token milik pemanggilan ini saja: membatalkannya sampai ke SingleFlight dan
+        // antrean scheduler, tidak seperti membatalkan future turunan dari thenApply
+        CancellationToken pagesToken = new CancellationToken();
+        CancellationToken.Registration linked = token.onCancel(pagesToken::cancel);
+        try {
+            Page<ArrayList<Repo>> first = await(reposPage(username, 1, priority, pagesToken));
+            consumer.accept(first.value);
+            int lastPage = lastPage(first.link);
+            if (lastPage <= 1) {
+                return;
+            }
+
+            Semaphore permits = new Semaphore(MAX_PARALLEL_PAGES);
+            List<CompletableFuture<Page<ArrayList<Repo>>>> pages = new ArrayList<>(lastPage - 1);
+            int delivered = 0;
+            for (int page = 2; page <= lastPage; page++) {
+                permits.acquire();
+                token.throwIfCancelled();
+                // Satu halaman gagal (mis. kuota habis): jangan kirim sisa halaman yang pasti sia-sia
+                throwIfAnyFailed(pages);
+                // Halaman yang sudah selesai diteruskan sekarang, tanpa menunggu semua terkirim
+                delivered = deliverCompleted(pages, delivered, consumer);
+                pages.add(reposPage(username, page, priority, pagesToken).whenComplete((response, error) -> permits.release()));
+            }
+
+            for (int i = delivered; i < pages.size(); i++) {
+                consumer.accept(await(pages.get(i)).value);
+            }
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            // Halaman yang masih antre atau sedang berjalan tidak perlu menghabiskan kuota lagi
+            pagesToken.cancel();
+            throw e;
+        } finally {
+            linked.close();
+        }
+    }
+
+    /**
+     * Meneruskan halaman mulai indeks {@code from} yang sudah selesai, sesuai
+     * urutan, dan berhenti di halaman pertama yang belum selesai.
+     *
+     * @return indeks halaman pertama yang belum diteruskan
+     */
+    private static int deliverCompleted(List<CompletableFuture<Page<ArrayList<Repo>>>> pages, int from,
+                                        Consumer<? super List<Repo>> consumer) throws IOException, InterruptedException {
+        int next = from;
+        while (next < pages.size() && pages.get(next).isDone()) {
+            consumer.accept(await(pages.get(next)).value);
+            next++;
+        }
+        return next;
+    }
+
+    /**
+     * Melempar error halaman pertama yang sudah gagal, bila ada.
+     */
+    private static void throwIfAnyFailed(List<? extends CompletableFuture<?>> pages) throws IOException, InterruptedException {
+        for (CompletableFuture<?> page : pages) {
+            if (page.isCompletedExceptionally()) {
+                await(page);
+            }
         }
-        Repo[] repos = gson.fromJson(response.body(), Repo[].class);
-        return List.of(repos);
     }
 
     public List<Commit> fetchCommits(String username, String repoName) throws IOException, InterruptedException {
+        List<Commit> result = new ArrayList<>();
+        streamCommits(username, repoName, result::add);
+        return result;
+    }
+
+    public void streamCommits(String username, String repoName, Consumer<? super Commit> consumer) throws IOException, InterruptedException {
         String url = String.format("%s/repos/%s/%s/commits?per_page=10", API_BASE, username, repoName);
-        HttpRequest request = HttpRequest.newBuilder()
+        call(CancellationToken.NONE, callToken -> getAsync(url, Priority.INTERACTIVE, callToken, true,
+                status -> new IOException("Gagal mengambil commit: " + status),
+                reader -> readArray(reader, Commit.class), cached -> { })).value.forEach(consumer);
+    }
+
+    /**
+     * Satu halaman commit (terbaru lebih dulu) dengan batas waktu opsional.
+     * {@code since} dan {@code until} bersifat inklusif di sisi GitHub.
+     */
+    public List<Commit> fetchCommitPage(String owner, String repoName, Instant since, Instant until, int page, Priority priority,
+                                        CancellationToken token) throws IOException, InterruptedException {
+        StringBuilder url = new StringBuilder(String.format("%s/repos/%s/%s/commits?per_page=%d&page=%d",
+                API_BASE, owner, repoName, PER_PAGE, page));
+        if (since != null) {
+            url.append("&since=").append(DateTimeFormatter.ISO_INSTANT.format(since));
+        }
+        if (until != null) {
+            url.append("&until=").append(DateTimeFormatter.ISO_INSTANT.format(until));
+        }
+        // Halaman dengan batas waktu hampir tidak pernah diminta ulang dengan URL yang sama
+        boolean cacheable = since == null && until == null;
+        return call(token, callToken -> getAsync(url.toString(), priority, callToken, cacheable,
+                status -> new IOException("Gagal mengambil commit: " + status),
+                reader -> readArray(reader, Commit.class), cached -> { })).value;
+    }
+
+    private CompletableFuture<Page<ArrayList<Repo>>> reposPage(String username, int page, Priority priority, CancellationToken token) {
+        String url = String.format("%s/users/%s/repos?per_page=%d&sort=updated&page=%d", API_BASE, username, PER_PAGE, page);
+        return getAsync(url, priority, token, true, status -> new IOException("Gagal mengambil data: " + status),
+                reader -> readArray(reader, Repo.class), cached -> { });
+    }
+
+    /**
+     * Request yang identik (URL sama, tanpa membedakan huruf besar/kecil) dan
+     * sedang berjalan tidak dikirim ulang: pemanggil berikutnya menumpang pada
+     * future yang sama dan menerima hasilnya lewat {@code onShared}. Tiap
+     * pemanggil mendapat salinan future dan membatalkannya lewat
+     * {@code token} miliknya; request-nya sendiri baru dihentikan setelah
+     * semua pemanggil batal. Respons untuk URL yang tidak {@code cacheable}
+     * tidak dikirim kondisional dan tidak disimpan di {@link HttpCache}.
+     */
+    private <T extends Serializable> CompletableFuture<Page<T>> getAsync(String url, Priority priority, CancellationToken token,
+                                                                         boolean cacheable, IntFunction<IOException> onError,
+                                                                         BodyParser<T> parser, Consumer<T> onShared) {
+        AtomicBoolean leader = new AtomicBoolean();
+        CompletableFuture<Page<?>> shared = inFlight.run(url.toLowerCase(Locale.ROOT), token, callToken -> {
+            leader.set(true);
+            return sendAsync(url, priority, callToken, cacheable, onError, parser, onShared).thenApply(page -> page);
+        });
+        if (leader.get()) {
+            return shared.thenApply(GithubService::cast);
+        }
+        return shared.thenApply(result -> {
+            Page<T> page = cast(result);
+            onShared.accept(page.value);
+            return page;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Page<T> cast(Page<?> page) {
+        // URL yang sama selalu menghasilkan tipe yang sama
+        return (Page<T>) page;
+    }
+
+    /**
+     * GET kondisional: validator dari {@link HttpCache} ikut dikirim, dan bila
+     * GitHub membalas 304 objek hasil parsing sebelumnya dikembalikan (dan
+     * diteruskan ke {@code onCached}) tanpa membaca body. Entri yang
+     * validatornya dikirim dipegang sampai respons datang, jadi 304 tetap
+     * terlayani walaupun entri itu terbuang dari cache di tengah jalan.
+     * Respons 200 di-parse langsung dari stream dengan {@link JsonReader}:
+     * body tidak pernah disalin utuh ke String atau char[], tetapi hasilnya
+     * tetap satu halaman penuh. Semua request dikirim lewat {@link RequestScheduler}.
+     */
+    private <T extends Serializable> CompletableFuture<Page<T>> sendAsync(String url, Priority priority, CancellationToken token,
+                                                                          boolean cacheable, IntFunction<IOException> onError,
+                                                                          BodyParser<T> parser, Consumer<T> onCached) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .uri(URI.create(url))
-                .header("Accept", "application/vnd.github+json")
-                .build();
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        if (response.statusCode() != 200) {
-            throw new IOException("Gagal mengambil commit: " + response.statusCode());
+                .header("Accept", "application/vnd.github+json");
+        HttpCache.Entry validated = cacheable ? cache.applyValidators(url, builder) : null;
+        return scheduler.submit(builder.build(), HttpResponse.BodyHandlers.ofInputStream(), priority, token)
+                .thenApply(response -> {
+                    // Menutup stream dari thread lain membuat parsing berhenti di tengah body
+                    try (CountingInputStream body = new CountingInputStream(response.body())) {
+                        CancellationToken.Registration cancel = token.onCancel(() -> closeQuietly(body));
+                        try {
+                            if (response.statusCode() == 304 && validated != null) {
+                                cache.hit(url, validated);
+                                @SuppressWarnings("unchecked")
+                                T value = (T) validated.value;
+                                onCached.accept(value);
+                                return new Page<>(value, validated.link);
+                            }
+                            if (response.statusCode() != 200) {
+                                throw onError.apply(response.statusCode());
+                            }
+                            T value;
+                            try (JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                                value = parser.parse(reader);
+                            }
+                            if (cacheable) {
+                                cache.store(url, response.headers(), value, body.count);
+                            }
+                            return new Page<>(value, response.headers().firstValue("Link").orElse(null));
+                        } finally {
+                            cancel.close();
+                        }
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    } catch (JsonParseException e) {
+                        throw new CompletionException(new IOException("Respons GitHub tidak valid: " + e.getMessage(), e));
+                    }
+                });
+    }
+
+    /**
+     * Membaca array JSON elemen demi elemen menjadi satu halaman. Halaman
+     * disimpan utuh karena {@link HttpCache} menjawab 304 dengan hasil parsing
+     * ini, jadi memori per request sebesar satu halaman objek model (yang
+     * jauh lebih kecil dari JSON-nya), bukan satu elemen.
+     */
+    private <E> ArrayList<E> readArray(JsonReader reader, Class<E> type) throws IOException {
+        ArrayList<E> items = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            items.add(gson.fromJson(reader, type));
+        }
+        reader.endArray();
+        return items;
+    }
+
+    private UserSearch readUserSearch(JsonReader reader) throws IOException {
+        ArrayList<String> logins = new ArrayList<>();
+        int total = 0;
+        boolean incomplete = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "total_count":
+                    total = JsonFields.nextInt(reader);
+                    break;
+                case "incomplete_results":
+                    incomplete = JsonFields.nextBoolean(reader);
+                    break;
+                case "items":
+                    for (GitHubUser user : readArray(reader, GitHubUser.class)) {
+                        logins.add(user.getLogin());
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new UserSearch(logins, !incomplete && total <= logins.size());
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Menjalankan satu request dengan token miliknya sendiri lalu menunggu
+     * hasilnya. Bila thread pemanggil di-interrupt, token itu dibatalkan
+     * sehingga request ikut dibuang dari antrean atau dihentikan.
+     */
+    private static <T> T call(CancellationToken token, Function<CancellationToken, CompletableFuture<T>> request)
+            throws IOException, InterruptedException {
+        CancellationToken callToken = new CancellationToken();
+        CancellationToken.Registration linked = token.onCancel(callToken::cancel);
+        try {
+            return await(request.apply(callToken));
+        } catch (InterruptedException e) {
+            callToken.cancel();
+            throw e;
+        } finally {
+            linked.close();
+        }
+    }
+
+    /**
+     * Menunggu {@code future}. Pembatalan tidak dilakukan di sini: future
+     * turunan tidak meneruskannya ke request, jadi batalkan token request-nya.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof CancellationException cancelled) {
+                throw cancelled;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Membaca nomor halaman terakhir dari header {@code Link}. Bila header
+     * tidak ada berarti semua data muat dalam satu halaman.
+     */
+    private static int lastPage(String link) {
+        if (link == null) {
+            return 1;
+        }
+        Matcher last = LAST_PAGE_LINK.matcher(link);
+        if (!last.find()) {
+            return 1;
+        }
+        Matcher page = PAGE_PARAM.matcher(last.group(1));
+        return page.find() ? Integer.parseInt(page.group(1)) : 1;
+    }
+
+    @FunctionalInterface
+    private interface BodyParser<T> {
+        T parse(JsonReader reader) throws IOException;
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+
+    private static class Page<T> {
+        final T value;
+        final String link;
+
+        Page(T value, String link) {
+            this.value = value;
+            this.link = link;
         }
-        Commit[] commits = gson.fromJson(response.body(), Commit[].class);
-        return List.of(commits);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.github.repo.tracker.network;
+
+import com.github.repo.tracker.util.LruCache;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache validator HTTP (ETag / Last-Modified) per URL beserta hasil parsing
+ * terakhirnya. Respons 304 dari GitHub tidak mengurangi kuota rate limit,
+ * jadi setiap request dikirim kondisional dan objek lama dipakai ulang.
+ * Isinya dibatasi {@link #MAX_BYTES} (ukuran body asli) dengan LRU, dan
+ * hanya yang masih ada di memori yang disimpan ke file.
+ */
+public class HttpCache {
+
+    private static final Path DEFAULT_FILE = Paths.get("http-cache.ser");
+    // Naikkan bila tipe objek yang disimpan berubah agar cache lama diabaikan
+    private static final int FORMAT_VERSION = 3;
+    private static final long MAX_BYTES = 32L * 1024 * 1024;
+    private static HttpCache shared;
+
+    private final Path file;
+    private final LruCache<String, Entry> entries = new LruCache<>(MAX_BYTES, entry -> Math.max(1, entry.size));
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    static class Entry implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String etag;
+        final String lastModified;
+        final String link;
+        final Serializable value;
+        final long size;
+
+        Entry(String etag, String lastModified, String link, Serializable value, long size) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.link = link;
+            this.value = value;
+            this.size = size;
+        }
+    }
+
+    public HttpCache(Path file) {
+        this.file = file;
+        load();
+    }
+
+    /**
+     * Cache bersama yang disimpan ke {@code http-cache.ser} saat aplikasi ditutup.
+     */
+    public static synchronized HttpCache shared() {
+        if (shared == null) {
+            HttpCache cache = new HttpCache(DEFAULT_FILE);
+            Runtime.getRuntime().addShutdownHook(new Thread(cache::save, "http-cache-save"));
+            shared = cache;
+        }
+        return shared;
+    }
+
+    /**
+     * Menambahkan header If-None-Match / If-Modified-Since bila URL sudah pernah diambil.
+     *
+     * @return entri yang validatornya dikirim, atau {@code null}; simpan
+     *         sampai respons datang karena entri bisa terbuang dari LRU
+     *         sebelum server membalas 304
+     */
+    Entry applyValidators(String url, HttpRequest.Builder builder) {
+        Entry entry = entries.get(url);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.etag != null) {
+            builder.header("If-None-Match", entry.etag);
+        } else if (entry.lastModified != null) {
+            builder.header("If-Modified-Since", entry.lastModified);
+        }
+        return entry;
+    }
+
+    /**
+     * Dipanggil saat server membalas 304 untuk {@code entry} dari
+     * {@link #applyValidators}. Entri yang sementara itu terbuang dari LRU
+     * dimasukkan kembali, karena isinya baru saja dinyatakan masih berlaku.
+     */
+    void hit(String url, Entry entry) {
+        hits.incrementAndGet();
+        bytesSaved.addAndGet(entry.size);
+        if (entries.get(url) == null) {
+            entries.put(url, entry);
+        }
+    }
+
+    /**
+     * Objek terakhir untuk URL tanpa request dan tanpa menghitung hit;
+     * {@code null} bila URL belum pernah diambil.
+     */
+    Serializable peek(String url) {
+        Entry entry = entries.get(url);
+        return entry != null ? entry.value : null;
+    }
+
+    void store(String url, HttpHeaders headers, Serializable value, long size) {
+        misses.incrementAndGet();
+        String etag = headers.firstValue("ETag").orElse(null);
+        String lastModified = headers.firstValue("Last-Modified").orElse(null);
+        if (etag == null && lastModified == null) {
+            entries.remove(url);
+            return;
+        }
+        entries.put(url, new Entry(etag, lastModified, headers.firstValue("Link").orElse(null), value, size));
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(Files.newInputStream(file))) {
+            if (ois.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            // Disimpan dari yang paling lama tidak dipakai, jadi urutan LRU ikut pulih
+            for (Map.Entry<String, Entry> entry : ((Map<String, Entry>) ois.readObject()).entrySet()) {
+                entries.put(entry.getKey(), entry.getValue());
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // Cache rusak atau format lama: abaikan, akan dibangun ulang
+            System.err.println("Cache HTTP tidak dapat dibaca: " + e.getMessage());
+        }
+    }
+
+    public synchronized void save() {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (ObjectOutputStream oos = new ObjectOutputStream(Files.newOutputStream(tmp))) {
+            oos.writeInt(FORMAT_VERSION);
+            oos.writeObject(entries.snapshot());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
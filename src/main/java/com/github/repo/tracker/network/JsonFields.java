@@ -0,0 +1,62 @@
+package com.github.repo.tracker.network;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Helper baca/tulis field untuk TypeAdapter model. Nilai {@code null} dari
+ * GitHub dibaca tanpa membuat {@code JsonElement}.
+ */
+final class JsonFields {
+
+    private JsonFields() {
+    }
+
+    static String nextString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    static int nextInt(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextInt();
+    }
+
+    static boolean nextBoolean(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return false;
+        }
+        return in.nextBoolean();
+    }
+
+    static Instant nextInstant(JsonReader in) throws IOException {
+        String value = nextString(in);
+        return value != null ? Instant.parse(value) : null;
+    }
+
+    static void writeInstant(JsonWriter out, String name, Instant value) throws IOException {
+        out.name(name).value(value != null ? value.toString() : null);
+    }
+
+    /**
+     * Mengembalikan {@code true} bila nilai berikutnya null (dan sudah dikonsumsi).
+     */
+    static boolean skipNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+}
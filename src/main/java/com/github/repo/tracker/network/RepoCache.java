@@ -0,0 +1,299 @@
+package com.github.repo.tracker.network;
+
+import com.github.repo.tracker.db.RepoStore;
+import com.github.repo.tracker.db.WriteBehindQueue;
+import com.github.repo.tracker.model.Repo;
+import com.github.repo.tracker.network.RequestScheduler.Priority;
+import com.github.repo.tracker.util.CancellationToken;
+import com.github.repo.tracker.util.IoExecutor;
+import com.github.repo.tracker.util.LruCache;
+import com.github.repo.tracker.util.SingleFlight;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Cache baca-tembus daftar repository per user dengan tiga tingkat:
+ * LRU di memori, tabel {@code repo} di database lokal, lalu GitHub sebagai
+ * sumber kebenaran.
+ * <ul>
+ *     <li>Salinan di memori dipercaya selama {@link #MEMORY_TTL}; setelah itu
+ *     dibaca ulang dari database.</li>
+ *     <li>Data yang diambil dari GitHub lebih dari {@link #DATABASE_TTL} lalu
+ *     tetap dikembalikan (stale-while-revalidate), sementara versi baru diambil
+ *     di latar belakang dengan prioritas {@link Priority#BACKGROUND}.</li>
+ *     <li>Hanya user yang belum pernah tersimpan yang membuat pemanggil
+ *     menunggu jaringan.</li>
+ * </ul>
+ * Beberapa pencarian bersamaan untuk user yang sama hanya memicu satu
+ * pengambilan ke GitHub.
+ */
+public class RepoCache {
+
+    public enum Tier {
+        MEMORY,
+        DATABASE,
+        NETWORK
+    }
+
+    public static final Duration MEMORY_TTL = Duration.ofMinutes(1);
+    public static final Duration DATABASE_TTL = Duration.ofMinutes(30);
+    // Bobot entri = jumlah repository, jadi akun besar memakai porsi yang sesuai
+    private static final long MAX_MEMORY_REPOS = 20_000;
+
+    /**
+     * Hasil pencarian beserta asal dan umurnya. Bila datanya basi dan
+     * diperoleh lewat {@link #get(String)}, {@link #getRevalidation()} berisi
+     * pengambilan ulang yang sedang berjalan.
+     */
+    public static class Result {
+        private final List<Repo> repos;
+        private final Instant fetchedAt;
+        private final Tier tier;
+        private final boolean stale;
+        private final CompletableFuture<Result> revalidation;
+
+        Result(Entry entry, Tier tier, boolean stale, CompletableFuture<Result> revalidation) {
+            this.repos = entry.repos;
+            this.fetchedAt = entry.fetchedAt;
+            this.tier = tier;
+            this.stale = stale;
+            this.revalidation = revalidation;
+        }
+
+        Result(Result stale, CompletableFuture<Result> revalidation) {
+            this.repos = stale.repos;
+            this.fetchedAt = stale.fetchedAt;
+            this.tier = stale.tier;
+            this.stale = true;
+            this.revalidation = revalidation;
+        }
+
+        public List<Repo> getRepos() {
+            return repos;
+        }
+
+        public Instant getFetchedAt() {
+            return fetchedAt;
+        }
+
+        public Tier getTier() {
+            return tier;
+        }
+
+        public boolean isStale() {
+            return stale;
+        }
+
+        public CompletableFuture<Result> getRevalidation() {
+            return revalidation;
+        }
+    }
+
+    private static class Entry {
+        final List<Repo> repos;
+        // Kapan data diambil dari GitHub
+        final Instant fetchedAt;
+        // Kapan salinan ini masuk ke memori
+        final Instant cachedAt;
+
+        Entry(List<Repo> repos, Instant fetchedAt, Instant cachedAt) {
+            this.repos = List.copyOf(repos);
+            this.fetchedAt = fetchedAt;
+            this.cachedAt = cachedAt;
+        }
+    }
+
+    private final GithubService service;
+    private final RepoStore store;
+    private final WriteBehindQueue queue;
+    private final LruCache<String, Entry> memory = new LruCache<>(MAX_MEMORY_REPOS, entry -> Math.max(1, entry.repos.size()));
+    private final SingleFlight<String, Entry> inFlight = new SingleFlight<>();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong databaseHits = new AtomicLong();
+    private final AtomicLong networkLoads = new AtomicLong();
+    private final AtomicLong staleServed = new AtomicLong();
+
+    public RepoCache(GithubService service) {
+        this(service, WriteBehindQueue.shared());
+    }
+
+    public RepoCache(GithubService service, WriteBehindQueue queue) {
+        this.service = service;
+        this.queue = queue;
+        this.store = queue.getRepoDatabase();
+    }
+
+    public Result get(String username) throws IOException, InterruptedException {
+        String key = key(username);
+        Result local = local(key, CancellationToken.NONE);
+        if (local == null) {
+            return new Result(await(load(key, Priority.INTERACTIVE, CancellationToken.NONE, page -> { })), Tier.NETWORK, false, null);
+        }
+        if (!local.stale) {
+            return local;
+        }
+        staleServed.incrementAndGet();
+        return new Result(local, refresh(key, Priority.BACKGROUND));
+    }
+
+    /**
+     * Data dari memori atau database tanpa menyentuh jaringan dan tanpa
+     * memulai revalidasi; {@code null} bila user belum pernah tersimpan.
+     */
+    public Result peek(String username) {
+        return peek(username, CancellationToken.NONE);
+    }
+
+    /**
+     * Seperti {@link #peek(String)}; membatalkan {@code token} menghentikan
+     * query database yang sedang berjalan.
+     *
+     * @throws java.util.concurrent.CancellationException bila dibatalkan
+     */
+    public Result peek(String username, CancellationToken token) {
+        return local(key(username), token);
+    }
+
+    /**
+     * Mengambil ulang dari GitHub tanpa melihat cache.
+     */
+    public CompletableFuture<Result> refresh(String username, Priority priority) {
+        return refresh(username, priority, CancellationToken.NONE, page -> { });
+    }
+
+    /**
+     * Seperti {@link #refresh(String, Priority)}, dan setiap halaman dari
+     * GitHub diteruskan ke {@code onPage} begitu tiba. Bila pengambilan untuk
+     * user ini sudah berjalan, pemanggil hanya menerima hasil akhirnya.
+     * Pengambilan dihentikan (dan hasilnya tidak disimpan) setelah semua
+     * pemanggilnya membatalkan token masing-masing.
+     */
+    public CompletableFuture<Result> refresh(String username, Priority priority, CancellationToken token,
+                                             Consumer<? super List<Repo>> onPage) {
+        return load(key(username), priority, token, onPage)
+                .thenApply(entry -> new Result(entry, Tier.NETWORK, false, null));
+    }
+
+    public void invalidate(String username) {
+        memory.remove(key(username));
+    }
+
+    private static String key(String username) {
+        // GitHub tidak membedakan huruf besar/kecil pada username
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    private Result local(String key, CancellationToken token) {
+        lookups.incrementAndGet();
+        Instant now = Instant.now();
+
+        Entry entry = memory.get(key);
+        if (entry != null && entry.cachedAt.plus(MEMORY_TTL).isAfter(now)) {
+            memoryHits.incrementAndGet();
+            return new Result(entry, Tier.MEMORY, isStale(entry, now), null);
+        }
+
+        Instant synced = store.lastSynced(key);
+        if (synced == null) {
+            return null;
+        }
+        databaseHits.incrementAndGet();
+        List<Repo> repos = store.loadRepos(key, token);
+        // Hasil query yang dibatalkan tidak lengkap; jangan masuk cache
+        token.throwIfCancelled();
+        entry = new Entry(repos, synced, now);
+        memory.put(key, entry);
+        return new Result(entry, Tier.DATABASE, isStale(entry, now), null);
+    }
+
+    private static boolean isStale(Entry entry, Instant now) {
+        return !entry.fetchedAt.plus(DATABASE_TTL).isAfter(now);
+    }
+
+    private CompletableFuture<Entry> load(String key, Priority priority, CancellationToken token, Consumer<? super List<Repo>> onPage) {
+        return inFlight.run(key, token, callToken -> {
+            networkLoads.incrementAndGet();
+            // Akun besar dengan kuota yang diberi jarak bisa jauh lebih lama dari
+            // batas default; pemuatan dihentikan lewat callToken
+            CompletableFuture<Entry> work = IoExecutor.supply(() -> {
+                List<Repo> repos = new ArrayList<>();
+                service.streamRepoPages(key, priority, callToken, page -> {
+                    repos.addAll(page);
+                    onPage.accept(page);
+                });
+                callToken.throwIfCancelled();
+                Instant now = Instant.now();
+                Entry entry = new Entry(repos, now, now);
+                memory.put(key, entry);
+                queue.saveRepos(key, entry.repos);
+                return entry;
+            }, IoExecutor.NO_TIMEOUT);
+            CancellationToken.Registration registration = callToken.onCancel(() -> work.cancel(true));
+            work.whenComplete((entry, error) -> registration.close());
+            return work;
+        });
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    public long getLookups() {
+        return lookups.get();
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDatabaseHits() {
+        return databaseHits.get();
+    }
+
+    public long getNetworkLoads() {
+        return networkLoads.get();
+    }
+
+    public long getStaleServed() {
+        return staleServed.get();
+    }
+
+    public long getCoalescedLoads() {
+        return inFlight.getCoalesced();
+    }
+
+    public double getMemoryHitRate() {
+        long total = lookups.get();
+        return total == 0 ? 0 : (double) memoryHits.get() / total;
+    }
+
+    /**
+     * Porsi pencarian yang tidak ada di memori namun ditemukan di database.
+     */
+    public double getDatabaseHitRate() {
+        long missed = lookups.get() - memoryHits.get();
+        return missed <= 0 ? 0 : (double) databaseHits.get() / missed;
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.repo.tracker.network;
+
+import com.github.repo.tracker.model.Repo;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Adapter streaming untuk {@link Repo}. Objek repository dari GitHub berisi
+ * puluhan field; yang tidak dipakai dilewati dengan {@code skipValue()}
+ * tanpa pernah dibentuk menjadi objek.
+ */
+class RepoTypeAdapter extends TypeAdapter<Repo> {
+
+    @Override
+    public Repo read(JsonReader in) throws IOException {
+        if (JsonFields.skipNull(in)) {
+            return null;
+        }
+        Repo repo = new Repo();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    repo.setId(in.nextLong());
+                    break;
+                case "name":
+                    repo.setName(JsonFields.nextString(in));
+                    break;
+                case "description":
+                    repo.setDescription(JsonFields.nextString(in));
+                    break;
+                case "language":
+                    repo.setLanguage(JsonFields.nextString(in));
+                    break;
+                case "stargazers_count":
+                    repo.setStargazersCount(JsonFields.nextInt(in));
+                    break;
+                case "forks_count":
+                    repo.setForksCount(JsonFields.nextInt(in));
+                    break;
+                case "private":
+                    repo.setPrivate(JsonFields.nextBoolean(in));
+                    break;
+                case "updated_at":
+                    repo.setUpdatedAt(JsonFields.nextInstant(in));
+                    break;
+                case "html_url":
+                    repo.setHtmlUrl(JsonFields.nextString(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return repo;
+    }
+
+    @Override
+    public void write(JsonWriter out, Repo repo) throws IOException {
+        if (repo == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(repo.getId());
+        out.name("name").value(repo.getName());
+        out.name("description").value(repo.getDescription());
+        out.name("language").value(repo.getLanguage());
+        out.name("stargazers_count").value(repo.getStargazersCount());
+        out.name("forks_count").value(repo.getForksCount());
+        out.name("private").value(repo.isPrivate());
+        JsonFields.writeInstant(out, "updated_at", repo.getUpdatedAt());
+        out.name("html_url").value(repo.getHtmlUrl());
+        out.endObject();
+    }
+}
@@ -0,0 +1,348 @@
+package com.github.repo.tracker.network;
+
+import com.github.repo.tracker.util.CancellationToken;
+import com.github.repo.tracker.util.IoExecutor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Penjadwal semua request ke GitHub. Kuota diatur dengan token bucket:
+ * paling banyak {@link #BURST} request dikirim sekaligus, lalu token diisi
+ * ulang dengan laju {@code X-RateLimit-Remaining} dibagi waktu sampai
+ * {@code X-RateLimit-Reset}, sehingga sisa kuota terbagi rata sampai reset
+ * alih-alih habis lalu gagal dengan 403. Request kondisional tidak dipotong
+ * kuota di muka karena respons 304 tidak dihitung GitHub.
+ * <p>
+ * Endpoint {@code /search/} punya kuota sendiri (per menit, jauh lebih
+ * kecil), jadi mendapat bucket dan antrean sendiri yang diatur dari header
+ * respons search; request search yang menunggu tidak menahan request lain.
+ * Dalam satu bucket, request dengan prioritas {@link Priority#INTERACTIVE}
+ * selalu dikirim sebelum {@link Priority#BACKGROUND}.
+ * Request yang dibatalkan dibuang dari antrean, atau dihentikan bila sudah
+ * terkirim.
+ */
+public class RequestScheduler {
+
+    public enum Priority {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    private static final int BURST = 10;
+    private static final double DEFAULT_RATE_PER_SECOND = 10.0;
+    // Bila kuota habis dan reset lebih lama dari ini, request digagalkan daripada membuat UI menunggu
+    private static final long MAX_WAIT_MILLIS = 60_000;
+    private static final int MAX_RETRIES = 3;
+
+    private static RequestScheduler shared;
+
+    private final HttpClient httpClient;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Bucket core = new Bucket("core");
+    private final Bucket search = new Bucket("search");
+
+    public RequestScheduler(HttpClient httpClient) {
+        this.httpClient = httpClient;
+        core.start();
+        search.start();
+    }
+
+    /**
+     * Scheduler bersama; kuota GitHub berlaku per klien, bukan per jendela.
+     */
+    public static synchronized RequestScheduler shared() {
+        if (shared == null) {
+            // Body dibaca dan di-parse secara blocking di executor HttpClient
+            shared = new RequestScheduler(HttpClient.newBuilder().executor(IoExecutor.executor()).build());
+        }
+        return shared;
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> submit(HttpRequest request, HttpResponse.BodyHandler<T> handler, Priority priority) {
+        return submit(request, handler, priority, CancellationToken.NONE);
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> submit(HttpRequest request, HttpResponse.BodyHandler<T> handler, Priority priority,
+                                                         CancellationToken token) {
+        Bucket bucket = request.uri().getPath().startsWith("/search/") ? search : core;
+        Task<T> task = new Task<>(request, handler, priority, sequence.incrementAndGet());
+        CancellationToken.Registration registration = token.onCancel(() -> task.future.cancel(true));
+        task.future.whenComplete((response, error) -> {
+            registration.close();
+            if (task.future.isCancelled()) {
+                // Tidak perlu menunggu giliran hanya untuk dibuang
+                bucket.queue.remove(task);
+            }
+        });
+        bucket.queue.put(task);
+        bucket.wake();
+        return task.future;
+    }
+
+    public int getQueueSize() {
+        return core.queue.size() + search.queue.size();
+    }
+
+    /**
+     * Sisa kuota utama (core) menurut respons terakhir, atau -1 bila belum diketahui.
+     */
+    public long getRemaining() {
+        return core.getRemaining();
+    }
+
+    public long getSearchRemaining() {
+        return search.getRemaining();
+    }
+
+    private static boolean isConditional(HttpRequest request) {
+        return request.headers().firstValue("If-None-Match").isPresent()
+                || request.headers().firstValue("If-Modified-Since").isPresent();
+    }
+
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof Closeable body) {
+            try {
+                body.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Token bucket dan antrean untuk satu jenis kuota GitHub
+     * ({@code X-RateLimit-Resource}), dengan thread pengirimnya sendiri.
+     * Status bucket dijaga oleh monitor objek ini.
+     */
+    private class Bucket {
+        final String resource;
+        final PriorityBlockingQueue<Task<?>> queue = new PriorityBlockingQueue<>();
+
+        private double tokens = BURST;
+        private double capacity = BURST;
+        private double ratePerSecond = DEFAULT_RATE_PER_SECOND;
+        private long lastRefillNanos = System.nanoTime();
+        private long blockedUntilMillis;
+        private long remaining = -1;
+        // Request yang sudah dipotong token tetapi responsnya belum datang
+        private int charged;
+
+        Bucket(String resource) {
+            this.resource = resource;
+        }
+
+        void start() {
+            Thread dispatcher = new Thread(this::dispatchLoop, "github-request-scheduler-" + resource);
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+        }
+
+        synchronized long getRemaining() {
+            return remaining;
+        }
+
+        private void dispatchLoop() {
+            while (true) {
+                try {
+                    Task<?> task = queue.take();
+                    if (task.future.isDone()) {
+                        // Dibatalkan sebelum sempat dikirim
+                        continue;
+                    }
+                    long blocked = blockedFor();
+                    if (blocked > MAX_WAIT_MILLIS) {
+                        // Hanya saat kuota benar-benar habis; menunggu giliran karena jarak tidak pernah gagal
+                        task.future.completeExceptionally(new IOException("Rate limit terlampaui. Silakan coba lagi setelah "
+                                + DateTimeFormatter.ofPattern("HH:mm").withZone(ZoneId.systemDefault())
+                                        .format(Instant.ofEpochMilli(System.currentTimeMillis() + blocked))));
+                        continue;
+                    }
+                    boolean charge = !isConditional(task.request);
+                    long wait = blocked > 0 ? blocked : tryAcquire(charge);
+                    if (wait > 0) {
+                        park(task, wait);
+                        continue;
+                    }
+                    task.charged = charge;
+                    dispatch(task);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Mengembalikan {@code task} ke antrean lalu tidur sampai token
+         * berikutnya tersedia. Request baru ({@link #wake()}) atau respons
+         * yang memperbarui kuota membangunkan lebih awal, agar request
+         * berprioritas lebih tinggi tetap bisa menyalip.
+         */
+        private synchronized void park(Task<?> task, long millis) throws InterruptedException {
+            queue.put(task);
+            // Request lain sudah menyalip sebelum monitor ini dipegang: jangan tidur
+            if (queue.peek() == task) {
+                wait(millis);
+            }
+        }
+
+        synchronized void wake() {
+            notifyAll();
+        }
+
+        private <T> void dispatch(Task<T> task) {
+            CompletableFuture<HttpResponse<T>> exchange = httpClient.sendAsync(task.request, task.handler);
+            task.future.whenComplete((response, error) -> {
+                if (task.future.isCancelled()) {
+                    // Dibatalkan saat masih di jalan: hentikan juga pertukaran HTTP-nya
+                    exchange.cancel(true);
+                }
+            });
+            exchange.whenComplete((response, error) -> {
+                if (error != null) {
+                    release(task);
+                    task.future.completeExceptionally(error);
+                    return;
+                }
+                boolean limited = onResponse(task, response);
+                if (limited && task.attempts < MAX_RETRIES && !task.future.isDone()) {
+                    // Body respons yang ditolak tidak akan dibaca; tutup agar koneksinya dilepas
+                    discard(response);
+                    task.attempts++;
+                    queue.put(task);
+                } else if (!task.future.complete(response)) {
+                    // Sudah dibatalkan, tidak ada yang membaca body-nya
+                    discard(response);
+                }
+            });
+        }
+
+        /**
+         * Lama waktu sampai kuota tersedia lagi bila sedang diblokir (kuota habis
+         * atau {@code Retry-After}), atau 0.
+         */
+        private synchronized long blockedFor() {
+            return Math.max(0, blockedUntilMillis - System.currentTimeMillis());
+        }
+
+        /**
+         * Mengambil satu token bila {@code charge}; request kondisional hanya
+         * perlu kuota yang belum habis.
+         *
+         * @return 0 bila request boleh dikirim sekarang, atau lama menunggu dalam milidetik
+         */
+        private synchronized long tryAcquire(boolean charge) {
+            long now = System.currentTimeMillis();
+            if (now < blockedUntilMillis) {
+                return blockedUntilMillis - now;
+            }
+            if (!charge) {
+                return 0;
+            }
+            refill();
+            if (tokens >= 1) {
+                tokens -= 1;
+                charged++;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / ratePerSecond * 1000);
+        }
+
+        /**
+         * Menambahkan token yang terkumpul sejak pengisian terakhir dengan laju saat ini.
+         */
+        private synchronized void refill() {
+            long nanos = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (nanos - lastRefillNanos) / 1e9 * ratePerSecond);
+            lastRefillNanos = nanos;
+        }
+
+        private synchronized void release(Task<?> task) {
+            if (task.charged) {
+                task.charged = false;
+                charged--;
+            }
+        }
+
+        /**
+         * Memperbarui token bucket dari header respons.
+         *
+         * @return {@code true} bila respons ditolak karena rate limit dan layak diulang
+         */
+        private synchronized boolean onResponse(Task<?> task, HttpResponse<?> response) {
+            release(task);
+            HttpHeaders headers = response.headers();
+            long now = System.currentTimeMillis();
+
+            OptionalLong retryAfter = headers.firstValueAsLong("Retry-After");
+            if (retryAfter.isPresent()) {
+                blockedUntilMillis = Math.max(blockedUntilMillis, now + retryAfter.getAsLong() * 1000);
+            }
+
+            OptionalLong left = headers.firstValueAsLong("X-RateLimit-Remaining");
+            OptionalLong reset = headers.firstValueAsLong("X-RateLimit-Reset");
+            // Header milik kuota lain (mis. graphql) tidak dipakai untuk mengatur bucket ini
+            boolean own = headers.firstValue("X-RateLimit-Resource").map(resource::equals).orElse(true);
+            if (own && left.isPresent() && reset.isPresent()) {
+                remaining = left.getAsLong();
+                long resetMillis = reset.getAsLong() * 1000;
+                long seconds = Math.max(1, (resetMillis - now) / 1000);
+                if (remaining <= 0) {
+                    blockedUntilMillis = Math.max(blockedUntilMillis, resetMillis);
+                }
+                // Token yang terkumpul dengan laju lama dihitung dulu sebelum lajunya diganti
+                refill();
+                // Request yang masih di jalan belum tercermin di Remaining
+                double available = Math.max(0, remaining - charged);
+                ratePerSecond = Math.max(remaining, 1) / (double) seconds;
+                capacity = Math.max(1, Math.min(BURST, available));
+                tokens = Math.min(tokens, capacity);
+            } else if (own && isConditional(task.request) && response.statusCode() != 304) {
+                // Request kondisional yang ternyata dihitung, tanpa header untuk menyamakan
+                tokens -= 1;
+            }
+
+            // Laju atau blokir bisa berubah: dispatcher yang sedang tidur menghitung ulang waktunya
+            notifyAll();
+
+            int status = response.statusCode();
+            boolean limited = status == 429 || (status == 403 && (retryAfter.isPresent() || remaining == 0));
+            return limited && blockedUntilMillis - now <= MAX_WAIT_MILLIS;
+        }
+    }
+
+    private static class Task<T> implements Comparable<Task<?>> {
+        final HttpRequest request;
+        final HttpResponse.BodyHandler<T> handler;
+        final Priority priority;
+        final long sequence;
+        final CompletableFuture<HttpResponse<T>> future = new CompletableFuture<>();
+        int attempts;
+        // Dijaga oleh monitor bucket-nya
+        boolean charged;
+
+        Task(HttpRequest request, HttpResponse.BodyHandler<T> handler, Priority priority, long sequence) {
+            this.request = request;
+            this.handler = handler;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Task<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
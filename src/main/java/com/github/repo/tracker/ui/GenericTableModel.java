@@ -2,12 +2,26 @@ package com.github.repo.tracker.ui;
 
 import javax.swing.table.AbstractTableModel;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 
 /**
  * Model tabel generik yang dapat dipakai untuk berbagai tipe data.
  * Memanfaatkan Program Generik (syarat 1).
+ * <p>
+ * Bila {@link #setKeyExtractor(Function) key extractor} dipasang,
+ * {@link #setData(List)} membandingkan data lama dan baru berdasarkan kunci
+ * dan hanya mengirim event baris yang dihapus, disisipkan atau berubah,
+ * sehingga seleksi dan posisi scroll tetap terjaga saat data diperbarui.
+ * <p>
+ * Nilai sel disimpan per kolom setelah mapper dijalankan sekali, diisi saat
+ * sel pertama kali diminta (baris di luar layar tidak dihitung). Melukis
+ * ulang tabel hanya membaca cache; cache baris dibuang saat barisnya berubah,
+ * dan seluruhnya lewat {@link #invalidate()} (mis. saat bahasa diganti).
  *
  * @param <T> tipe data baris
  */
@@ -16,18 +30,184 @@ public class GenericTableModel<T> extends AbstractTableModel {
     private final String[] columnNames;
     private final Function<T, Object>[] mappers;
     private final List<T> data;
+    private Function<? super T, ?> keyExtractor;
+    // Satu list per kolom; MISSING berarti nilainya belum dihitung
+    private final List<List<Object>> cells;
+
+    private static final Object MISSING = new Object();
 
     @SafeVarargs
     public GenericTableModel(String[] columnNames, Function<T, Object>... mappers) {
         this.columnNames = columnNames;
         this.mappers = mappers;
         this.data = new ArrayList<>();
+        this.cells = new ArrayList<>(mappers.length);
+        for (int i = 0; i < mappers.length; i++) {
+            cells.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Kunci unik tiap baris (mis. {@code Repo::getId}) untuk pembaruan bertahap.
+     */
+    public void setKeyExtractor(Function<? super T, ?> keyExtractor) {
+        this.keyExtractor = keyExtractor;
     }
 
     public void setData(List<T> newData) {
-        data.clear();
-        data.addAll(newData);
-        fireTableDataChanged();
+        if (keyExtractor == null || data.isEmpty() || newData.isEmpty() || !diff(newData)) {
+            data.clear();
+            data.addAll(newData);
+            for (List<Object> column : cells) {
+                column.clear();
+                column.addAll(Collections.nCopies(data.size(), MISSING));
+            }
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Menambahkan baris di akhir tabel tanpa membandingkan ulang baris lama.
+     */
+    public void addRows(List<T> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int first = data.size();
+        data.addAll(rows);
+        for (List<Object> column : cells) {
+            column.addAll(Collections.nCopies(rows.size(), MISSING));
+        }
+        fireTableRowsInserted(first, data.size() - 1);
+    }
+
+    /**
+     * Membuang semua nilai sel yang sudah dihitung, mis. setelah locale berubah.
+     */
+    public void invalidate() {
+        for (List<Object> column : cells) {
+            Collections.fill(column, MISSING);
+        }
+        if (!data.isEmpty()) {
+            fireTableRowsUpdated(0, data.size() - 1);
+        }
+    }
+
+    /**
+     * Mengubah {@code data} menjadi {@code newData} dengan event sesempit mungkin.
+     * Baris yang tetap berurutan relatif satu sama lain (subbarisan naik
+     * terpanjang) dipertahankan; baris yang dihapus atau berpindah posisi
+     * dihapus lalu disisipkan di tempat barunya.
+     *
+     * @return {@code false} bila kunci tidak unik sehingga diff tidak bisa dipakai
+     */
+    private boolean diff(List<T> newData) {
+        Map<Object, Integer> newIndex = new HashMap<>(newData.size() * 2);
+        for (int i = 0; i < newData.size(); i++) {
+            if (newIndex.put(keyExtractor.apply(newData.get(i)), i) != null) {
+                return false;
+            }
+        }
+
+        int[] target = new int[data.size()];
+        for (int i = 0; i < target.length; i++) {
+            target[i] = newIndex.getOrDefault(keyExtractor.apply(data.get(i)), -1);
+        }
+        boolean[] keep = longestIncreasing(target);
+
+        // Hapus dari bawah ke atas agar indeks baris di atasnya tidak bergeser
+        for (int i = data.size() - 1; i >= 0; ) {
+            if (keep[i]) {
+                i--;
+                continue;
+            }
+            int last = i;
+            while (i >= 0 && !keep[i]) {
+                i--;
+            }
+            data.subList(i + 1, last + 1).clear();
+            for (List<Object> column : cells) {
+                column.subList(i + 1, last + 1).clear();
+            }
+            fireTableRowsDeleted(i + 1, last);
+        }
+
+        // Sisa data kini subbarisan dari newData dengan urutan yang sama
+        int updatedFrom = -1;
+        int i = 0;
+        while (i < newData.size()) {
+            T item = newData.get(i);
+            if (i < data.size() && Objects.equals(keyExtractor.apply(data.get(i)), keyExtractor.apply(item))) {
+                if (!Objects.equals(data.get(i), item)) {
+                    data.set(i, item);
+                    for (List<Object> column : cells) {
+                        column.set(i, MISSING);
+                    }
+                    if (updatedFrom < 0) {
+                        updatedFrom = i;
+                    }
+                } else if (updatedFrom >= 0) {
+                    fireTableRowsUpdated(updatedFrom, i - 1);
+                    updatedFrom = -1;
+                }
+                i++;
+                continue;
+            }
+            if (updatedFrom >= 0) {
+                fireTableRowsUpdated(updatedFrom, i - 1);
+                updatedFrom = -1;
+            }
+            Object nextKey = i < data.size() ? keyExtractor.apply(data.get(i)) : null;
+            int end = i;
+            while (end < newData.size() && (nextKey == null || !Objects.equals(keyExtractor.apply(newData.get(end)), nextKey))) {
+                end++;
+            }
+            data.addAll(i, newData.subList(i, end));
+            for (List<Object> column : cells) {
+                column.addAll(i, Collections.nCopies(end - i, MISSING));
+            }
+            fireTableRowsInserted(i, end - 1);
+            i = end;
+        }
+        if (updatedFrom >= 0) {
+            fireTableRowsUpdated(updatedFrom, data.size() - 1);
+        }
+        return true;
+    }
+
+    /**
+     * Menandai posisi yang membentuk subbarisan naik terpanjang dari nilai
+     * {@code >= 0} di {@code values}, dalam O(n log n).
+     */
+    private static boolean[] longestIncreasing(int[] values) {
+        int[] tails = new int[values.length];
+        int[] previous = new int[values.length];
+        int length = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[tails[mid]] < values[i]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] keep = new boolean[values.length];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            keep[i] = true;
+        }
+        return keep;
     }
 
     @Override
@@ -47,11 +227,20 @@ public class GenericTableModel<T> extends AbstractTableModel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        T item = data.get(rowIndex);
-        return mappers[columnIndex].apply(item);
+        List<Object> column = cells.get(columnIndex);
+        Object value = column.get(rowIndex);
+        if (value == MISSING) {
+            value = mappers[columnIndex].apply(data.get(rowIndex));
+            column.set(rowIndex, value);
+        }
+        return value;
     }
 
     public T getRow(int row) {
         return data.get(row);
     }
-} 
\ No newline at end of file
+
+    public List<T> getData() {
+        return Collections.unmodifiableList(data);
+    }
+}
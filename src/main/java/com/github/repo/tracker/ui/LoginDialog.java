@@ -1,6 +1,7 @@
 package com.github.repo.tracker.ui;
 
 import com.github.repo.tracker.db.UserDatabase;
+import com.github.repo.tracker.db.UserStore;
 import com.github.repo.tracker.util.ResourceManager;
 
 import javax.swing.*;
@@ -12,7 +13,7 @@ import java.awt.event.ActionEvent;
 public class LoginDialog extends JDialog {
     private final JTextField usernameField;
     private final JPasswordField passwordField;
-    private final UserDatabase userDb = new UserDatabase();
+    private final UserStore userDb = new UserDatabase();
     private boolean loginSuccess = false;
     private String loggedInUsername = null;
     private JButton loginButton;
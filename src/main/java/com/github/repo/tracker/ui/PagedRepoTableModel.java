@@ -0,0 +1,215 @@
+package com.github.repo.tracker.ui;
+
+import com.github.repo.tracker.db.RepoSort;
+import com.github.repo.tracker.db.RepoStore;
+import com.github.repo.tracker.model.Repo;
+import com.github.repo.tracker.util.CancellationToken;
+import com.github.repo.tracker.util.IoExecutor;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Model tabel repository untuk akun besar yang membaca langsung dari
+ * {@link RepoStore} per halaman. Hanya halaman di sekitar baris yang sedang
+ * dilukis yang disimpan di memori ({@link #MAX_PAGES} halaman, yang paling
+ * lama tidak dilihat dibuang lebih dulu), sehingga pemakaian heap tidak
+ * bergantung pada jumlah repository.
+ * <p>
+ * Halaman yang belum ada dimuat di latar belakang; selama itu sel berisi
+ * placeholder. Halaman berikutnya dibaca dengan keyset dari baris terakhir
+ * halaman sebelumnya bila sudah diketahui, dan dengan OFFSET bila pengguna
+ * melompat jauh. Nilai sel dihitung sekali saat halaman dimuat, di luar EDT.
+ * Semua method dipanggil di EDT.
+ */
+public class PagedRepoTableModel extends AbstractTableModel {
+
+    public static final int PAGE_SIZE = 200;
+    private static final int MAX_PAGES = 10;
+    private static final String LOADING = "…";
+
+    private final String[] columnNames;
+    private final Function<Repo, Object>[] mappers;
+    private final RepoStore store;
+
+    private String username;
+    private RepoSort sort = RepoSort.UPDATED;
+    private int rowCount;
+    // Dinaikkan setiap kali isi model diganti; hasil muat yang terlambat diabaikan
+    private long generation;
+    // Dibatalkan bersama generation agar query halaman lama ikut berhenti
+    private CancellationToken loads = new CancellationToken();
+
+    private final Map<Integer, Page> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Page> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    // Baris terakhir tiap halaman yang pernah dimuat, sebagai cursor keyset
+    private final Map<Integer, Repo> anchors = new HashMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+
+    private static class Page {
+        final List<Repo> rows;
+        final Object[][] cells;
+
+        Page(List<Repo> rows, Object[][] cells) {
+            this.rows = rows;
+            this.cells = cells;
+        }
+    }
+
+    @SafeVarargs
+    public PagedRepoTableModel(String[] columnNames, RepoStore store, Function<Repo, Object>... mappers) {
+        this.columnNames = columnNames;
+        this.store = store;
+        this.mappers = mappers;
+    }
+
+    /**
+     * Menampilkan repository milik {@code username} dengan urutan {@code sort}.
+     */
+    public void show(String username, RepoSort sort) {
+        this.username = username.toLowerCase(Locale.ROOT);
+        this.sort = sort;
+        reset();
+        long expected = generation;
+        String user = this.username;
+        IoExecutor.supply(() -> store.countRepos(user))
+                .whenComplete((count, error) -> SwingUtilities.invokeLater(() -> {
+                    if (expected != generation) {
+                        return;
+                    }
+                    if (error != null) {
+                        error.printStackTrace();
+                        return;
+                    }
+                    rowCount = count;
+                    fireTableDataChanged();
+                }));
+    }
+
+    public void setSort(RepoSort sort) {
+        if (username != null) {
+            show(username, sort);
+        }
+    }
+
+    public RepoSort getSort() {
+        return sort;
+    }
+
+    /**
+     * Menghitung ulang semua nilai sel, mis. setelah locale berubah.
+     */
+    public void invalidate() {
+        pages.clear();
+        loading.clear();
+        nextGeneration();
+        if (rowCount > 0) {
+            fireTableRowsUpdated(0, rowCount - 1);
+        }
+    }
+
+    private void reset() {
+        nextGeneration();
+        pages.clear();
+        anchors.clear();
+        loading.clear();
+        rowCount = 0;
+        fireTableDataChanged();
+    }
+
+    private void nextGeneration() {
+        generation++;
+        loads.cancel();
+        loads = new CancellationToken();
+    }
+
+    /**
+     * Repository pada baris {@code row}, atau {@code null} bila halamannya belum dimuat.
+     */
+    public Repo getRow(int row) {
+        Page page = pages.get(row / PAGE_SIZE);
+        int index = row % PAGE_SIZE;
+        return page != null && index < page.rows.size() ? page.rows.get(index) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        int number = rowIndex / PAGE_SIZE;
+        Page page = pages.get(number);
+        if (page == null) {
+            request(number);
+            return columnIndex == 0 ? LOADING : null;
+        }
+        int index = rowIndex % PAGE_SIZE;
+        return index < page.cells.length ? page.cells[index][columnIndex] : null;
+    }
+
+    private void request(int number) {
+        if (!loading.add(number)) {
+            return;
+        }
+        long expected = generation;
+        String user = username;
+        RepoSort order = sort;
+        Repo after = anchors.get(number - 1);
+        CancellationToken token = loads;
+        IoExecutor.supply(() -> {
+            List<Repo> rows = after != null
+                    ? store.loadRepos(user, order, after, PAGE_SIZE, token)
+                    : store.loadReposAt(user, order, number * PAGE_SIZE, PAGE_SIZE, token);
+            Object[][] cells = new Object[rows.size()][];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new Object[mappers.length];
+                for (int c = 0; c < mappers.length; c++) {
+                    cells[i][c] = mappers[c].apply(rows.get(i));
+                }
+            }
+            return new Page(rows, cells);
+        }).whenComplete((page, error) -> SwingUtilities.invokeLater(() -> {
+            if (expected != generation) {
+                return;
+            }
+            loading.remove(number);
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            pages.put(number, page);
+            if (!page.rows.isEmpty()) {
+                anchors.put(number, page.rows.get(page.rows.size() - 1));
+            }
+            int first = number * PAGE_SIZE;
+            int last = Math.min(first + PAGE_SIZE, rowCount) - 1;
+            if (last >= first) {
+                fireTableRowsUpdated(first, last);
+            }
+        }));
+    }
+}
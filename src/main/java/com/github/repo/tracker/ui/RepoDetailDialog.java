@@ -2,18 +2,28 @@ package com.github.repo.tracker.ui;
 
 import com.github.repo.tracker.model.Commit;
 import com.github.repo.tracker.model.Repo;
+import com.github.repo.tracker.network.CommitSync;
 import com.github.repo.tracker.network.GithubService;
+import com.github.repo.tracker.util.CancellationToken;
+import com.github.repo.tracker.util.IoExecutor;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 public class RepoDetailDialog extends JDialog {
 
@@ -144,12 +154,25 @@ public class RepoDetailDialog extends JDialog {
 }
 
 class CommitHistoryDialog extends JDialog {
+    private static final int MAX_ROWS = 200;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm").withZone(ZoneId.systemDefault());
+
     private final GenericTableModel<Commit> tableModel;
+    private final CancellationToken token = new CancellationToken();
 
     CommitHistoryDialog(Dialog owner, Repo repo, GithubService service, String username) {
         super(owner, "Commit History: " + repo.getName(), true);
         setSize(800, 500);
         setLocationRelativeTo(owner);
+        // Sinkronisasi dan backfill hanya berjalan selama dialog terbuka;
+        // backfill yang terhenti dilanjutkan saat riwayat dibuka lagi
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                token.cancel();
+            }
+        });
 
         // Main panel with gradient background
         JPanel mainPanel = new JPanel(new BorderLayout(10, 10)) {
@@ -174,10 +197,9 @@ class CommitHistoryDialog extends JDialog {
                 c -> c.getSha().substring(0, 7),
                 Commit::getAuthorName,
                 Commit::getMessage,
-                c -> DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")
-                        .withZone(ZoneId.systemDefault())
-                        .format(c.getDate())
+                c -> DATE_FORMAT.format(c.getDate())
         );
+        tableModel.setKeyExtractor(Commit::getSha);
         JTable table = new JTable(tableModel);
         
         // Style the table
@@ -208,23 +230,41 @@ class CommitHistoryDialog extends JDialog {
         mainPanel.add(scrollPane, BorderLayout.CENTER);
         add(mainPanel);
 
-        new SwingWorker<List<Commit>, Void>() {
-            @Override
-            protected List<Commit> doInBackground() throws Exception {
-                return service.fetchCommits(username, repo.getName());
+        // Commit lokal langsung ditampilkan, lalu tiap halaman hasil sinkronisasi
+        // (termasuk backfill di latar belakang) digabungkan begitu tiba
+        CommitSync sync = new CommitSync(service);
+        IoExecutor.supply(() -> {
+            List<Commit> local = sync.loadLocal(username, repo.getName(), MAX_ROWS);
+            if (!local.isEmpty()) {
+                SwingUtilities.invokeLater(() -> showPage(local));
             }
-
-            @Override
-            protected void done() {
-                try {
-                    tableModel.setData(get());
-                } catch (Exception e) {
-                    JOptionPane.showMessageDialog(CommitHistoryDialog.this,
-                            "Failed to load commits: " + e.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
+            return sync.sync(username, repo.getName(), token, page -> SwingUtilities.invokeLater(() -> showPage(page)));
+        }).whenComplete((commits, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null && isDisplayable() && tableModel.getRowCount() == 0) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                JOptionPane.showMessageDialog(CommitHistoryDialog.this,
+                        "Failed to load commits: " + cause.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
             }
-        }.execute();
+        }));
+    }
+
+    private void showPage(List<Commit> page) {
+        if (!isDisplayable()) {
+            token.cancel();
+            return;
+        }
+        tableModel.setData(merge(tableModel.getData(), page));
+    }
+
+    private static List<Commit> merge(List<Commit> local, List<Commit> fresh) {
+        Map<String, Commit> bySha = new LinkedHashMap<>();
+        fresh.forEach(c -> bySha.put(c.getSha(), c));
+        local.forEach(c -> bySha.putIfAbsent(c.getSha(), c));
+        return bySha.values().stream()
+                .sorted(Comparator.comparing(Commit::getCommittedAt, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(MAX_ROWS)
+                .collect(Collectors.toList());
     }
 } 
\ No newline at end of file
@@ -1,32 +1,50 @@
 package com.github.repo.tracker.ui;
 
-import com.github.repo.tracker.db.RepoDatabase;
+import com.github.repo.tracker.db.RepoSnapshotFile;
+import com.github.repo.tracker.db.RepoSort;
+import com.github.repo.tracker.db.WriteBehindQueue;
 import com.github.repo.tracker.model.GitHubUser;
 import com.github.repo.tracker.model.Repo;
 import com.github.repo.tracker.network.GithubService;
-import com.github.repo.tracker.util.HashUtil;
+import com.github.repo.tracker.network.RepoCache;
+import com.github.repo.tracker.network.RequestScheduler.Priority;
+import com.github.repo.tracker.util.CancellationToken;
+import com.github.repo.tracker.util.IoExecutor;
 import com.github.repo.tracker.util.ResourceManager;
 import com.github.repo.tracker.util.SoundPlayer;
 
 import javax.swing.*;
+import javax.swing.table.TableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class TrackerFrame extends JFrame {
 
     private final JTextField usernameField = new JTextField(20);
     private final GenericTableModel<Repo> tableModel;
+    private final PagedRepoTableModel pagedModel;
     private final JTable table;
     private final UserProfilePanel userProfilePanel;
-    private List<Repo> currentRepos = List.of();
+    private final UsernameSuggestions suggestions;
+    private Comparator<Repo> currentComparator;
+    private RepoSort currentSort = RepoSort.UPDATED;
+    private RepoWorker currentWorker;
     private String loggedInUser = null;
 
     // Komponen UI yang perlu update bahasa
@@ -37,9 +55,20 @@ public class TrackerFrame extends JFrame {
     private final JButton sortForksButton;
     private final JButton sortNameButton;
     private final JButton logoutButton;
+    private final JLabel freshnessLabel = new JLabel(" ");
+    private String freshnessKey;
+    private Instant freshnessAt;
 
-    private final RepoDatabase database = new RepoDatabase();
+    private final WriteBehindQueue writeQueue = WriteBehindQueue.shared();
     private final GithubService service = new GithubService();
+    private final RepoCache repoCache = new RepoCache(service, writeQueue);
+    private final RepoSnapshotFile snapshots = RepoSnapshotFile.shared();
+
+    // Di atas jumlah ini tabel membaca per halaman dari database
+    private static final int LARGE_ACCOUNT = 2_000;
+    private static final Duration LARGE_ACCOUNT_FLUSH_TIMEOUT = Duration.ofSeconds(30);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy").withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter FRESHNESS_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm").withZone(ZoneId.systemDefault());
 
     public TrackerFrame() {
         super("GitHub Repo Activity Tracker");
@@ -116,14 +145,16 @@ public class TrackerFrame extends JFrame {
             ResourceManager.get("col_forks"),
             ResourceManager.get("col_updated")
         };
-        tableModel = new GenericTableModel<>(columns,
+        Function<Repo, Object>[] repoColumns = columns(
                 Repo::getName,
                 Repo::getStargazersCount,
                 Repo::getForksCount,
-                r -> r.getUpdatedAt() != null ? DateTimeFormatter.ofPattern("dd-MM-yyyy")
-                        .withZone(ZoneId.systemDefault())
-                        .format(r.getUpdatedAt()) : "N/A"
+                r -> r.getUpdatedAt() != null ? DATE_FORMAT.format(r.getUpdatedAt()) : "N/A"
         );
+        tableModel = new GenericTableModel<>(columns, repoColumns);
+        tableModel.setKeyExtractor(Repo::getId);
+        pagedModel = new PagedRepoTableModel(columns, writeQueue.getRepoDatabase(), repoColumns);
+        suggestions = new UsernameSuggestions(usernameField, writeQueue.getRepoDatabase(), service);
         table = new JTable(tableModel);
         
         // Style the table
@@ -142,6 +173,8 @@ public class TrackerFrame extends JFrame {
         sortPanel.add(sortStarsButton);
         sortPanel.add(sortForksButton);
         sortPanel.add(sortNameButton);
+        freshnessLabel.setFont(new Font("SansSerif", Font.ITALIC, 12));
+        sortPanel.add(freshnessLabel);
 
         JPanel contentPanel = new JPanel(new BorderLayout(0, 10));
         contentPanel.setBackground(Color.WHITE);
@@ -167,9 +200,9 @@ public class TrackerFrame extends JFrame {
         searchButton.addActionListener(this::onSearch);
         usernameField.addActionListener(this::onSearch);
         langToggle.addActionListener(e -> toggleLanguage());
-        sortStarsButton.addActionListener(e -> sortRepos(Comparator.comparing(Repo::getStargazersCount).reversed()));
-        sortForksButton.addActionListener(e -> sortRepos(Comparator.comparing(Repo::getForksCount).reversed()));
-        sortNameButton.addActionListener(e -> sortRepos(Comparator.comparing(Repo::getName, String.CASE_INSENSITIVE_ORDER)));
+        sortStarsButton.addActionListener(e -> sortRepos(Comparator.comparing(Repo::getStargazersCount).reversed(), RepoSort.STARS));
+        sortForksButton.addActionListener(e -> sortRepos(Comparator.comparing(Repo::getForksCount).reversed(), RepoSort.FORKS));
+        sortNameButton.addActionListener(e -> sortRepos(Comparator.comparing(Repo::getName, String.CASE_INSENSITIVE_ORDER), RepoSort.NAME));
         logoutButton.addActionListener(e -> {
             dispose();
             new TrackerFrame().setVisible(true);
@@ -178,7 +211,12 @@ public class TrackerFrame extends JFrame {
         table.addMouseListener(new MouseAdapter() {
             public void mousePressed(MouseEvent mouseEvent) {
                 if (mouseEvent.getClickCount() == 2 && table.getSelectedRow() != -1) {
-                    Repo selectedRepo = tableModel.getRow(table.getSelectedRow());
+                    int row = table.getSelectedRow();
+                    Repo selectedRepo = table.getModel() == pagedModel ? pagedModel.getRow(row) : tableModel.getRow(row);
+                    if (selectedRepo == null) {
+                        // Halaman baris ini belum selesai dimuat
+                        return;
+                    }
                     RepoDetailDialog dialog = new RepoDetailDialog(TrackerFrame.this, selectedRepo, service, usernameField.getText().trim());
                     dialog.setVisible(true);
                 }
@@ -186,11 +224,22 @@ public class TrackerFrame extends JFrame {
         });
     }
 
-    private void sortRepos(Comparator<Repo> comparator) {
-        if(currentRepos != null) {
-            currentRepos.sort(comparator);
-            tableModel.setData(currentRepos);
+    @SafeVarargs
+    private static <T> Function<T, Object>[] columns(Function<T, Object>... mappers) {
+        return mappers;
+    }
+
+    private void sortRepos(Comparator<Repo> comparator, RepoSort sort) {
+        currentComparator = comparator;
+        currentSort = sort;
+        if (table.getModel() == pagedModel) {
+            // Diurutkan oleh database memakai indeks (username, kolom urutan)
+            pagedModel.setSort(sort);
+            return;
         }
+        List<Repo> sorted = new ArrayList<>(tableModel.getData());
+        sorted.sort(comparator);
+        tableModel.setData(sorted);
     }
 
     private void toggleLanguage() {
@@ -219,6 +268,9 @@ public class TrackerFrame extends JFrame {
             table.getColumnModel().getColumn(i).setHeaderValue(columns[i]);
         }
         table.getTableHeader().repaint();
+        tableModel.invalidate();
+        pagedModel.invalidate();
+        showFreshness(freshnessKey, freshnessAt);
     }
 
     private void onSearch(ActionEvent evt) {
@@ -229,12 +281,47 @@ public class TrackerFrame extends JFrame {
         }
         searchButton.setEnabled(false);
         userProfilePanel.setVisible(false);
-        new RepoWorker(username).execute();
+        showFreshness(null, null);
+        cancelSearch();
+        currentWorker = new RepoWorker(username);
+        currentWorker.execute();
     }
 
-    private class RepoWorker extends SwingWorker<FetchResult, Void> {
+    /**
+     * Menghentikan pencarian yang masih berjalan beserta request, query, dan
+     * penulisan file-nya; hasilnya toh tidak akan ditampilkan lagi.
+     */
+    private void cancelSearch() {
+        if (currentWorker != null) {
+            currentWorker.token.cancel();
+            currentWorker.cancel(true);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        cancelSearch();
+        super.dispose();
+    }
+
+    /**
+     * Pencarian stale-while-revalidate: data lokal (profil dari cache HTTP,
+     * repository dari memori/database atau snapshot) langsung di-publish,
+     * lalu GitHub ditanya di latar belakang. Bila jaringan gagal namun data
+     * lokal sudah tampil, data itu tetap dipakai dan ditandai offline.
+     * <p>
+     * Tanpa data lokal, profil tampil begitu {@code fetchUser} selesai dan
+     * repository ditambahkan ke tabel per halaman begitu tiba, sehingga baris
+     * pertama muncul setelah satu round-trip, bukan setelah request terlambat.
+     */
+    private class RepoWorker extends SwingWorker<FetchResult, Object> {
         private final String username;
+        private final CancellationToken token = new CancellationToken();
         private Exception error;
+        // Hanya diakses di EDT
+        private FetchResult shown;
+        private GitHubUser shownUser;
+        private int streamedRows;
 
         RepoWorker(String username) {
             this.username = username;
@@ -242,47 +329,150 @@ public class TrackerFrame extends JFrame {
 
         @Override
         protected FetchResult doInBackground() {
-            try {
-                CompletableFuture<GitHubUser> userFuture = CompletableFuture.supplyAsync(() -> {
-                    try { return service.fetchUser(username); } 
-                    catch (Exception e) { throw new RuntimeException(e); }
+            FetchResult local = loadLocal();
+            if (local != null) {
+                publish(local);
+            }
+            // Pengguna sudah melihat data; pembaruan tidak perlu menyalip request lain
+            Priority priority = local != null ? Priority.BACKGROUND : Priority.INTERACTIVE;
+            boolean reposFresh = local != null && local.repos != null && !local.stale;
+            // Data lokal yang sudah tampil tidak diganti dengan daftar yang baru sebagian
+            boolean streamPages = local == null || local.repos == null;
+            try (IoExecutor.Scope scope = IoExecutor.scope()) {
+                CompletableFuture<GitHubUser> userFuture = scope.fork(() -> {
+                    GitHubUser user = service.fetchUser(username, priority, token);
+                    publish(user);
+                    return user;
                 });
 
-                CompletableFuture<List<Repo>> reposFuture = CompletableFuture.supplyAsync(() -> {
-                    try {
-                        List<Repo> repos = service.fetchRepos(username);
-                        String hash = HashUtil.sha256(username);
-                        database.saveRepos(username, repos, hash);
-                        try (java.io.ObjectOutputStream oos = new java.io.ObjectOutputStream(new java.io.FileOutputStream("repos.ser"))) {
-                            oos.writeObject(new java.util.ArrayList<>(repos));
-                        } catch (java.io.IOException e) {
-                            e.printStackTrace();
-                        }
-                        return repos;
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
+                // Lamanya mengikuti jumlah halaman, jadi tanpa batas waktu; pencarian dihentikan lewat token
+                CompletableFuture<List<Repo>> reposFuture = scope.fork(() -> {
+                    if (reposFresh) {
+                        return local.repos;
                     }
-                });
+                    Consumer<List<Repo>> onPage = streamPages ? page -> publish(new RepoPage(page)) : page -> { };
+                    List<Repo> repos = repoCache.refresh(username, priority, token, onPage).get().getRepos();
+                    if (repos.size() > LARGE_ACCOUNT && !writeQueue.flush(LARGE_ACCOUNT_FLUSH_TIMEOUT)) {
+                        // Tabel akun besar dibaca dari database, jadi tunggu sampai data tertulis
+                        System.err.println("Penyimpanan repository " + username + " belum selesai");
+                    }
+                    IoExecutor.supply(() -> {
+                        snapshots.write(username, repos, token);
+                        return null;
+                    }, IoExecutor.NO_TIMEOUT).exceptionally(e -> {
+                        e.printStackTrace();
+                        return null;
+                    });
+                    return repos;
+                }, IoExecutor.NO_TIMEOUT);
 
-                CompletableFuture.allOf(userFuture, reposFuture).join();
-                return new FetchResult(userFuture.get(), reposFuture.get());
+                scope.join();
+                List<Repo> repos = reposFuture.get();
+                boolean inDatabase = reposFresh ? local.inDatabase : holdsAll(repos);
+                return new FetchResult(userFuture.get(), repos, reposFresh ? local.fetchedAt : Instant.now(), false, inDatabase);
             } catch (Exception e) {
                 error = e;
                 return null;
             }
         }
-        
+
+        private FetchResult loadLocal() {
+            GitHubUser user = service.cachedUser(username);
+            RepoCache.Result cached = repoCache.peek(username, token);
+            if (cached != null) {
+                boolean inDatabase = cached.getTier() == RepoCache.Tier.DATABASE || holdsAll(cached.getRepos());
+                return new FetchResult(user, cached.getRepos(), cached.getFetchedAt(), cached.isStale(), inDatabase);
+            }
+            try {
+                // Database tidak tersedia atau kosong: pakai snapshot file terakhir
+                RepoSnapshotFile.Snapshot snapshot = snapshots.read(username);
+                if (snapshot != null) {
+                    return new FetchResult(user, snapshot.getRepos(), snapshot.getSavedAt(), true, false);
+                }
+            } catch (IOException e) {
+                System.err.println("Snapshot " + username + " tidak dapat dibaca: " + e.getMessage());
+            }
+            return user != null ? new FetchResult(user, null, null, true, false) : null;
+        }
+
+        /**
+         * {@code true} bila database sudah berisi tepat daftar akun besar ini,
+         * sehingga tabelnya boleh dibaca per halaman dari database. Daftar
+         * kecil selalu ditampilkan dari memori, jadi tidak perlu diperiksa.
+         */
+        private boolean holdsAll(List<Repo> repos) {
+            // Baris disimpan dengan username huruf kecil (lihat RepoCache dan PagedRepoTableModel)
+            return repos.size() > LARGE_ACCOUNT
+                    && writeQueue.getRepoDatabase().countRepos(username.toLowerCase(Locale.ROOT)) == repos.size();
+        }
+
+        @Override
+        protected void process(List<Object> chunks) {
+            if (this != currentWorker) {
+                return;
+            }
+            for (Object chunk : chunks) {
+                if (chunk instanceof FetchResult local) {
+                    shown = local;
+                    shownUser = local.user;
+                    showUser(local.user);
+                    if (local.repos != null) {
+                        applyRepos(username, local.repos, local.inDatabase);
+                        showFreshness(local.stale ? "fresh_cached" : "fresh_live", local.fetchedAt);
+                    }
+                } else if (chunk instanceof GitHubUser user) {
+                    if (user != shownUser) {
+                        shownUser = user;
+                        showUser(user);
+                    }
+                } else if (chunk instanceof RepoPage page) {
+                    appendPage(page.repos);
+                }
+            }
+        }
+
+        /**
+         * Menambahkan satu halaman ke tabel. Akun besar hanya ditampilkan
+         * sampai {@link #LARGE_ACCOUNT} baris; sisanya muncul di tabel
+         * berhalaman setelah semua data tersimpan.
+         */
+        private void appendPage(List<Repo> page) {
+            if (streamedRows == 0) {
+                useModel(tableModel);
+                tableModel.setData(List.of());
+            }
+            if (streamedRows >= LARGE_ACCOUNT) {
+                return;
+            }
+            streamedRows += page.size();
+            if (currentComparator == null) {
+                tableModel.addRows(page);
+                return;
+            }
+            List<Repo> sorted = new ArrayList<>(tableModel.getData());
+            sorted.addAll(page);
+            sorted.sort(currentComparator);
+            tableModel.setData(sorted);
+        }
+
         @Override
         protected void done() {
+            if (this != currentWorker || isCancelled()) {
+                return;
+            }
             searchButton.setEnabled(true);
-            userProfilePanel.setVisible(false);
             if (error != null) {
-                String errorMessage;
-                if (error instanceof RuntimeException && error.getCause() != null) {
-                    errorMessage = error.getCause().getMessage();
-                } else {
-                    errorMessage = error.getMessage();
+                if (shown != null && shown.repos != null) {
+                    // Data lokal sudah tampil; cukup beri tahu bahwa data itu belum diperbarui
+                    showFreshness("fresh_offline", shown.fetchedAt);
+                    return;
                 }
+                userProfilePanel.setVisible(false);
+                Throwable cause = error;
+                while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+                    cause = cause.getCause();
+                }
+                String errorMessage = cause.getMessage();
                 if (errorMessage == null || errorMessage.isEmpty()) {
                     errorMessage = "Gagal mencari user. Periksa koneksi internet Anda.";
                 }
@@ -297,10 +487,14 @@ public class TrackerFrame extends JFrame {
             try {
                 FetchResult result = get();
                 if (result != null) {
-                    userProfilePanel.updateUser(result.user);
-                    userProfilePanel.setVisible(true);
-                    currentRepos = new java.util.ArrayList<>(result.repos);
-                    tableModel.setData(currentRepos);
+                    if (result.user != shownUser) {
+                        showUser(result.user);
+                    }
+                    applyRepos(username, result.repos, result.inDatabase);
+                    showFreshness(shown != null && shown.stale ? "fresh_updated" : "fresh_live", result.fetchedAt);
+                    if (result.user != null) {
+                        suggestions.remember(result.user.getLogin());
+                    }
                     SoundPlayer.play("/done.mp3");
                 }
             } catch (Exception e) {
@@ -313,14 +507,78 @@ public class TrackerFrame extends JFrame {
             }
         }
     }
-    
+
+    private void showUser(GitHubUser user) {
+        userProfilePanel.updateUser(user);
+        userProfilePanel.setVisible(user != null);
+    }
+
+    /**
+     * Menerapkan daftar repository baru dengan tetap memakai urutan yang
+     * dipilih pengguna; model tabel hanya memperbarui baris yang berubah.
+     * Akun besar ditampilkan lewat {@link PagedRepoTableModel} sehingga daftar
+     * lengkapnya tidak perlu disimpan di tabel, tetapi hanya bila
+     * {@code inDatabase}; data dari snapshot atau yang belum tertulis tetap
+     * ditampilkan dari memori.
+     */
+    private void applyRepos(String username, List<Repo> repos, boolean inDatabase) {
+        if (repos.size() > LARGE_ACCOUNT && inDatabase) {
+            tableModel.setData(List.of());
+            useModel(pagedModel);
+            pagedModel.show(username, currentSort);
+            return;
+        }
+        useModel(tableModel);
+        List<Repo> sorted = new ArrayList<>(repos);
+        if (currentComparator != null) {
+            sorted.sort(currentComparator);
+        }
+        tableModel.setData(sorted);
+    }
+
+    private void useModel(TableModel model) {
+        if (table.getModel() != model) {
+            table.setModel(model);
+            // Kolom dibuat ulang dari model; pasang lagi judul sesuai bahasa aktif
+            updateTexts();
+        }
+    }
+
+    private void showFreshness(String key, Instant at) {
+        freshnessKey = key;
+        freshnessAt = at;
+        if (key == null) {
+            freshnessLabel.setText(" ");
+            return;
+        }
+        // EPOCH: data lama yang waktu pengambilannya tidak tercatat
+        String time = at != null && !Instant.EPOCH.equals(at) ? FRESHNESS_FORMAT.format(at) : "-";
+        freshnessLabel.setText(String.format(ResourceManager.get(key), time));
+        freshnessLabel.setForeground("fresh_offline".equals(key) ? new Color(220, 53, 69) : Color.GRAY);
+    }
+
+    private static class RepoPage {
+        final List<Repo> repos;
+
+        RepoPage(List<Repo> repos) {
+            this.repos = repos;
+        }
+    }
+
     private static class FetchResult {
         final GitHubUser user;
         final List<Repo> repos;
+        final Instant fetchedAt;
+        final boolean stale;
+        // Database berisi tepat daftar ini, jadi tabel boleh dibaca per halaman darinya
+        final boolean inDatabase;
 
-        FetchResult(GitHubUser user, List<Repo> repos) {
+        FetchResult(GitHubUser user, List<Repo> repos, Instant fetchedAt, boolean stale, boolean inDatabase) {
             this.user = user;
             this.repos = repos;
+            this.fetchedAt = fetchedAt;
+            this.stale = stale;
+            this.inDatabase = inDatabase;
         }
     }
 
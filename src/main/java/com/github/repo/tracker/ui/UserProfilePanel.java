@@ -1,13 +1,12 @@
 package com.github.repo.tracker.ui;
 
 import com.github.repo.tracker.model.GitHubUser;
+import com.github.repo.tracker.network.AvatarCache;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.net.URL;
+import java.util.Objects;
 
 public class UserProfilePanel extends JPanel {
 
@@ -17,13 +16,15 @@ public class UserProfilePanel extends JPanel {
     private final JLabel followersLabel = new JLabel();
     private final JLabel followingLabel = new JLabel();
     private final JLabel reposLabel = new JLabel();
+    private final AvatarCache avatars = AvatarCache.shared();
+    private String avatarUrl;
 
     public UserProfilePanel() {
         setLayout(new BorderLayout(15, 0)); // Memberi jarak horizontal 15px
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // Avatar di kiri, rata atas
-        avatarLabel.setPreferredSize(new Dimension(80, 80));
+        avatarLabel.setPreferredSize(new Dimension(AvatarCache.SIZE, AvatarCache.SIZE));
         avatarLabel.setHorizontalAlignment(SwingConstants.CENTER);
         avatarLabel.setVerticalAlignment(SwingConstants.TOP);
         add(avatarLabel, BorderLayout.WEST);
@@ -72,26 +73,38 @@ public class UserProfilePanel extends JPanel {
         followingLabel.setText("Following: " + user.getFollowing());
         reposLabel.setText("Repositories: " + user.getPublicRepos());
 
-        // Muat avatar di background
-        new SwingWorker<ImageIcon, Void>() {
-            @Override
-            protected ImageIcon doInBackground() throws Exception {
-                URL url = new URL(user.getAvatarUrl());
-                BufferedImage image = ImageIO.read(url);
-                Image scaledImage = image.getScaledInstance(80, 80, Image.SCALE_SMOOTH);
-                return new ImageIcon(scaledImage);
-            }
+        showAvatar(user.getAvatarUrl());
+        setVisible(true);
+    }
 
-            @Override
-            protected void done() {
-                try {
-                    avatarLabel.setIcon(get());
-                } catch (Exception e) {
-                    avatarLabel.setText("No Avatar");
-                }
+    private void showAvatar(String url) {
+        if (Objects.equals(url, avatarUrl) && avatarLabel.getIcon() != null) {
+            return;
+        }
+        avatarUrl = url;
+        avatarLabel.setText(null);
+        if (url == null) {
+            avatarLabel.setIcon(null);
+            avatarLabel.setText("No Avatar");
+            return;
+        }
+        // Profil yang pernah dilihat langsung tampil dari memori
+        BufferedImage cached = avatars.getIfPresent(url);
+        if (cached != null) {
+            avatarLabel.setIcon(new ImageIcon(cached));
+            return;
+        }
+        avatarLabel.setIcon(null);
+        avatars.load(url).whenComplete((image, error) -> SwingUtilities.invokeLater(() -> {
+            if (!url.equals(avatarUrl)) {
+                // Sudah berganti user selama avatar dimuat
+                return;
             }
-        }.execute();
-
-        setVisible(true);
+            if (error == null) {
+                avatarLabel.setIcon(new ImageIcon(image));
+            } else {
+                avatarLabel.setText("No Avatar");
+            }
+        }));
     }
 } 
\ No newline at end of file
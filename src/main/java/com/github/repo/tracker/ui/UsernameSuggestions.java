@@ -0,0 +1,288 @@
+package com.github.repo.tracker.ui;
+
+import com.github.repo.tracker.db.RepoStore;
+import com.github.repo.tracker.network.GithubService;
+import com.github.repo.tracker.network.RequestScheduler.Priority;
+import com.github.repo.tracker.util.CancellationToken;
+import com.github.repo.tracker.util.IoExecutor;
+import com.github.repo.tracker.util.LruCache;
+import com.github.repo.tracker.util.PrefixIndex;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Saran username saat mengetik di kolom pencarian. Saran lokal diambil dari
+ * {@link PrefixIndex} berisi semua username di database, jadi muncul seketika
+ * di EDT tanpa I/O. Setelah pengguna berhenti mengetik selama
+ * {@link #DEBOUNCE_MILLIS}, satu pencarian dikirim ke GitHub dan hasilnya
+ * digabungkan. Hasil GitHub di-cache per awalan; awalan yang lebih panjang
+ * dari awalan yang hasilnya sudah lengkap cukup disaring tanpa request.
+ * Semua method dipanggil di EDT.
+ */
+public class UsernameSuggestions {
+
+    private static final int DEBOUNCE_MILLIS = 300;
+    // Awalan satu huruf cocok dengan terlalu banyak user untuk berguna
+    private static final int MIN_REMOTE_PREFIX = 2;
+    private static final int MAX_SUGGESTIONS = 8;
+    private static final int REMOTE_LIMIT = 20;
+    private static final int MAX_CACHED_PREFIXES = 500;
+
+    private final JTextField field;
+    private final GithubService service;
+    private final PrefixIndex index = new PrefixIndex();
+    private final LruCache<String, GithubService.UserSearch> remote = new LruCache<>(MAX_CACHED_PREFIXES, result -> 1);
+
+    private final DefaultListModel<String> listModel = new DefaultListModel<>();
+    private final JList<String> list = new JList<>(listModel);
+    private final JScrollPane scrollPane = new JScrollPane(list);
+    private final JPopupMenu popup = new JPopupMenu();
+    private final Timer debounce;
+
+    private CancellationToken remoteToken = new CancellationToken();
+    // true saat teks diubah dari sini, agar tidak memicu saran baru
+    private boolean adjusting;
+
+    public UsernameSuggestions(JTextField field, RepoStore store, GithubService service) {
+        this.field = field;
+        this.service = service;
+
+        list.setFocusable(false);
+        list.setFont(field.getFont());
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        popup.setFocusable(false);
+        popup.add(scrollPane);
+
+        debounce = new Timer(DEBOUNCE_MILLIS, e -> queryRemote());
+        debounce.setRepeats(false);
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                onTextChanged();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                onTextChanged();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        field.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                onKeyPressed(e);
+            }
+        });
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                hide();
+            }
+        });
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = list.locationToIndex(e.getPoint());
+                if (row >= 0) {
+                    choose(listModel.get(row));
+                    field.postActionEvent();
+                }
+            }
+        });
+
+        IoExecutor.supply(store::loadUsernames).whenComplete((names, error) -> {
+            if (error != null) {
+                System.err.println("Gagal memuat daftar username: " + error.getMessage());
+                return;
+            }
+            index.load(names);
+        });
+    }
+
+    /**
+     * Menambahkan username yang baru saja ditemukan ke indeks lokal.
+     */
+    public void remember(String username) {
+        index.add(username);
+    }
+
+    private void onTextChanged() {
+        if (adjusting) {
+            return;
+        }
+        // Hasil untuk teks sebelumnya tidak akan ditampilkan lagi
+        remoteToken.cancel();
+        String prefix = field.getText().trim();
+        if (prefix.isEmpty()) {
+            debounce.stop();
+            hide();
+            return;
+        }
+        List<String> cached = cachedRemote(prefix);
+        show(prefix, cached);
+        if (cached == null && prefix.length() >= MIN_REMOTE_PREFIX) {
+            debounce.restart();
+        } else {
+            debounce.stop();
+        }
+    }
+
+    private void onKeyPressed(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+            // Pencarian langsung dijalankan; tidak perlu lagi menanyakan saran
+            debounce.stop();
+            remoteToken.cancel();
+            if (popup.isVisible() && list.getSelectedIndex() >= 0) {
+                choose(list.getSelectedValue());
+            }
+            hide();
+            // Tidak di-consume agar ActionListener kolom tetap menjalankan pencarian
+            return;
+        }
+        if (!popup.isVisible()) {
+            return;
+        }
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_DOWN:
+                moveSelection(1);
+                e.consume();
+                break;
+            case KeyEvent.VK_UP:
+                moveSelection(-1);
+                e.consume();
+                break;
+            case KeyEvent.VK_ESCAPE:
+                hide();
+                e.consume();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void moveSelection(int delta) {
+        int size = listModel.size();
+        int row = list.getSelectedIndex() + delta;
+        if (row < 0) {
+            row = size - 1;
+        } else if (row >= size) {
+            row = 0;
+        }
+        list.setSelectedIndex(row);
+        list.ensureIndexIsVisible(row);
+    }
+
+    private void choose(String username) {
+        adjusting = true;
+        try {
+            field.setText(username);
+        } finally {
+            adjusting = false;
+        }
+        debounce.stop();
+        remoteToken.cancel();
+        hide();
+    }
+
+    /**
+     * Hasil GitHub untuk {@code prefix} dari cache, termasuk hasil lengkap
+     * milik awalan yang lebih pendek; {@code null} bila perlu bertanya ke GitHub.
+     */
+    private List<String> cachedRemote(String prefix) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        for (int length = key.length(); length >= MIN_REMOTE_PREFIX; length--) {
+            GithubService.UserSearch result = remote.get(key.substring(0, length));
+            if (result != null && (length == key.length() || result.isComplete())) {
+                return result.getLogins();
+            }
+        }
+        return null;
+    }
+
+    private void queryRemote() {
+        String prefix = field.getText().trim();
+        if (prefix.length() < MIN_REMOTE_PREFIX) {
+            return;
+        }
+        String key = prefix.toLowerCase(Locale.ROOT);
+        CancellationToken token = new CancellationToken();
+        remoteToken = token;
+        // Saran hanya pelengkap; jangan mendahului request yang sedang ditunggu pengguna
+        IoExecutor.supply(() -> service.searchUsers(prefix, REMOTE_LIMIT, Priority.BACKGROUND, token))
+                .whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+                    if (error != null) {
+                        if (!token.isCancelled()) {
+                            System.err.println("Gagal mencari saran username: " + error.getMessage());
+                        }
+                        return;
+                    }
+                    remote.put(key, result);
+                    if (token == remoteToken && !token.isCancelled()) {
+                        show(prefix, result.getLogins());
+                    }
+                }));
+    }
+
+    /**
+     * Menampilkan username lokal berawalan {@code prefix}, lalu hasil GitHub
+     * yang belum ada di antaranya.
+     */
+    private void show(String prefix, List<String> remoteLogins) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        List<String> suggestions = index.find(prefix, MAX_SUGGESTIONS);
+        Set<String> seen = new HashSet<>();
+        for (String username : suggestions) {
+            seen.add(username.toLowerCase(Locale.ROOT));
+        }
+        if (remoteLogins != null) {
+            for (String login : remoteLogins) {
+                if (suggestions.size() >= MAX_SUGGESTIONS) {
+                    break;
+                }
+                String lower = login.toLowerCase(Locale.ROOT);
+                // Pencarian GitHub mencocokkan di mana saja dalam login; saran hanya untuk awalan
+                if (lower.startsWith(key) && seen.add(lower)) {
+                    suggestions.add(login);
+                }
+            }
+        }
+        if (suggestions.isEmpty() || (suggestions.size() == 1 && suggestions.get(0).equalsIgnoreCase(prefix))
+                || !field.isShowing() || !field.hasFocus()) {
+            hide();
+            return;
+        }
+
+        listModel.clear();
+        listModel.addAll(suggestions);
+        list.setVisibleRowCount(suggestions.size());
+        Dimension size = list.getPreferredScrollableViewportSize();
+        scrollPane.setPreferredSize(new Dimension(Math.max(field.getWidth(), size.width), size.height + 2));
+        popup.pack();
+        if (!popup.isVisible()) {
+            popup.show(field, 0, field.getHeight());
+        }
+    }
+
+    private void hide() {
+        popup.setVisible(false);
+        list.clearSelection();
+    }
+}
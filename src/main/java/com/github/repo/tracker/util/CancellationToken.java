@@ -0,0 +1,95 @@
+package com.github.repo.tracker.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Tanda pembatalan yang dibawa sebuah pekerjaan (mis. satu pencarian) ke
+ * semua lapisan yang dipakainya: request HTTP, statement JDBC, dan penulisan
+ * file. Lapisan tersebut mendaftarkan aksi lewat {@link #onCancel(Runnable)},
+ * yang dijalankan sekali saat {@link #cancel()} dipanggil. Aman dipakai dari
+ * banyak thread.
+ */
+public final class CancellationToken {
+
+    /**
+     * Token yang tidak pernah dibatalkan, untuk pemanggil yang tidak perlu membatalkan.
+     */
+    public static final CancellationToken NONE = new CancellationToken(false);
+
+    private final boolean cancellable;
+    private final List<Runnable> actions = new ArrayList<>();
+    private volatile boolean cancelled;
+
+    /**
+     * Pendaftaran aksi pembatalan; tutup setelah pekerjaannya selesai agar
+     * aksinya tidak dijalankan lagi.
+     */
+    public interface Registration extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public CancellationToken() {
+        this(true);
+    }
+
+    private CancellationToken(boolean cancellable) {
+        this.cancellable = cancellable;
+    }
+
+    public void cancel() {
+        if (!cancellable) {
+            return;
+        }
+        List<Runnable> pending;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            pending = new ArrayList<>(actions);
+            actions.clear();
+        }
+        for (Runnable action : pending) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Dibatalkan");
+        }
+    }
+
+    /**
+     * Menjalankan {@code action} saat token dibatalkan, atau langsung bila
+     * token sudah dibatalkan.
+     */
+    public Registration onCancel(Runnable action) {
+        if (!cancellable) {
+            return () -> { };
+        }
+        synchronized (this) {
+            if (!cancelled) {
+                actions.add(action);
+                return () -> {
+                    synchronized (this) {
+                        actions.remove(action);
+                    }
+                };
+            }
+        }
+        action.run();
+        return () -> { };
+    }
+}
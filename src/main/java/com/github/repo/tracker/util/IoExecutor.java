@@ -0,0 +1,124 @@
+package com.github.repo.tracker.util;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor aplikasi untuk pekerjaan I/O yang blocking (HTTP, JDBC, file).
+ * Setiap tugas berjalan di virtual thread sendiri, sehingga jumlah tugas
+ * yang berjalan bersamaan mengikuti jumlah request yang menunggu, bukan
+ * jumlah core seperti {@code ForkJoinPool.commonPool()}.
+ * Membatalkan future yang dikembalikan (atau timeout) akan meng-interrupt
+ * thread tugasnya.
+ */
+public final class IoExecutor {
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(2);
+    /**
+     * Tanpa batas waktu, untuk pekerjaan yang lamanya mengikuti ukuran data
+     * (mis. semua halaman repository akun besar dengan kuota yang diberi
+     * jarak). Pekerjaan seperti ini dihentikan lewat pembatalan.
+     */
+    public static final Duration NO_TIMEOUT = Duration.ofMillis(Long.MAX_VALUE);
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("io-", 0).factory());
+
+    private IoExecutor() {
+    }
+
+    public static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    public static <T> CompletableFuture<T> supply(Callable<T> task) {
+        return supply(task, DEFAULT_TIMEOUT);
+    }
+
+    public static <T> CompletableFuture<T> supply(Callable<T> task, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running = EXECUTOR.submit(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        // Batal atau timeout: hentikan juga thread yang masih berjalan
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                running.cancel(true);
+            }
+        });
+        if (timeout.equals(NO_TIMEOUT)) {
+            return result;
+        }
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public static Scope scope() {
+        return new Scope();
+    }
+
+    /**
+     * Sekelompok tugas yang hidup bersama: bila satu tugas gagal, tugas lain
+     * dibatalkan, dan saat scope ditutup semua tugas yang belum selesai ikut
+     * dibatalkan.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final List<CompletableFuture<?>> tasks = new CopyOnWriteArrayList<>();
+
+        private Scope() {
+        }
+
+        public <T> CompletableFuture<T> fork(Callable<T> task) {
+            return fork(task, DEFAULT_TIMEOUT);
+        }
+
+        public <T> CompletableFuture<T> fork(Callable<T> task, Duration timeout) {
+            CompletableFuture<T> future = supply(task, timeout);
+            tasks.add(future);
+            future.whenComplete((value, error) -> {
+                if (error != null) {
+                    cancel();
+                }
+            });
+            return future;
+        }
+
+        /**
+         * Menunggu semua tugas selesai dan melempar kegagalan pertama.
+         */
+        public void join() throws InterruptedException, ExecutionException {
+            try {
+                CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).get();
+            } catch (ExecutionException | CancellationException e) {
+                // Laporkan penyebab asli, bukan pembatalan yang dipicunya
+                for (CompletableFuture<?> task : tasks) {
+                    if (task.isCompletedExceptionally() && !task.isCancelled()) {
+                        task.get();
+                    }
+                }
+                throw e;
+            }
+        }
+
+        public void cancel() {
+            tasks.forEach(task -> task.cancel(true));
+        }
+
+        @Override
+        public void close() {
+            cancel();
+        }
+    }
+}
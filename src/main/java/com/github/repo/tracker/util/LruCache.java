@@ -0,0 +1,83 @@
+package com.github.repo.tracker.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache LRU di memori yang dibatasi total bobot entri (mis. jumlah elemen
+ * atau jumlah byte). Entri yang paling lama tidak dipakai dibuang lebih dulu
+ * saat batas terlampaui. Aman dipakai dari banyak thread.
+ */
+public class LruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long evictions;
+
+    public LruCache(long maxWeight, ToLongFunction<? super V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        long added = weigher.applyAsLong(value);
+        if (added > maxWeight) {
+            // Lebih besar dari seluruh cache: jangan buang semua entri lain demi satu entri
+            remove(key);
+            return;
+        }
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            weight -= weigher.applyAsLong(previous);
+        }
+        weight += added;
+        Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<K, V> entry = eldest.next();
+            weight -= weigher.applyAsLong(entry.getValue());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized V remove(K key) {
+        V removed = entries.remove(key);
+        if (removed != null) {
+            weight -= weigher.applyAsLong(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Salinan semua entri, dari yang paling lama tidak dipakai sampai yang
+     * terbaru; memasukkannya kembali dengan urutan ini memulihkan urutan LRU.
+     */
+    public synchronized LinkedHashMap<K, V> snapshot() {
+        return new LinkedHashMap<>(entries);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.repo.tracker.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Indeks awalan kata di memori berupa array terurut (huruf kecil) dengan
+ * pencarian biner, sehingga mencari kata berawalan tertentu hanya
+ * O(log n + hasil). Ejaan asli tiap kata ikut disimpan untuk ditampilkan.
+ * Aman dipakai dari banyak thread.
+ */
+public class PrefixIndex {
+
+    private final List<String> keys = new ArrayList<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Mengganti seluruh isi indeks.
+     */
+    public synchronized void load(Collection<String> words) {
+        List<String> sorted = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (word != null && !word.isEmpty()) {
+                sorted.add(word);
+            }
+        }
+        sorted.sort(String.CASE_INSENSITIVE_ORDER);
+        keys.clear();
+        values.clear();
+        for (String word : sorted) {
+            String key = key(word);
+            if (keys.isEmpty() || !keys.get(keys.size() - 1).equals(key)) {
+                keys.add(key);
+                values.add(word);
+            }
+        }
+    }
+
+    public synchronized void add(String word) {
+        if (word == null || word.isEmpty()) {
+            return;
+        }
+        String key = key(word);
+        int index = Collections.binarySearch(keys, key);
+        if (index >= 0) {
+            values.set(index, word);
+            return;
+        }
+        keys.add(-index - 1, key);
+        values.add(-index - 1, word);
+    }
+
+    /**
+     * Paling banyak {@code limit} kata berawalan {@code prefix} (tanpa
+     * membedakan huruf besar/kecil), urut abjad.
+     */
+    public synchronized List<String> find(String prefix, int limit) {
+        String key = key(prefix);
+        int index = Collections.binarySearch(keys, key);
+        int start = index >= 0 ? index : -index - 1;
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        for (int i = start; i < keys.size() && result.size() < limit && keys.get(i).startsWith(key); i++) {
+            result.add(values.get(i));
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return keys.size();
+    }
+
+    private static String key(String word) {
+        return word.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.repo.tracker.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Menggabungkan pemanggilan bersamaan dengan kunci yang sama menjadi satu
+ * pekerjaan. Tiap pemanggil mendapat salinan future sendiri dan boleh
+ * membatalkannya lewat token miliknya; pekerjaan bersama baru dibatalkan
+ * setelah semua pemanggilnya batal, dan pemanggil baru tidak pernah
+ * menumpang pada pekerjaan yang sedang dibatalkan.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Call<V>> calls = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private static class Call<V> {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        final CancellationToken token = new CancellationToken();
+        // Dijaga oleh monitor objek ini
+        int waiters;
+        boolean closed;
+    }
+
+    /**
+     * @param start memulai pekerjaan bila belum ada yang berjalan untuk
+     *              {@code key}; token yang diterimanya dibatalkan saat semua
+     *              pemanggil batal
+     */
+    public CompletableFuture<V> run(K key, CancellationToken token, Function<CancellationToken, CompletableFuture<V>> start) {
+        while (true) {
+            Call<V> call = new Call<>();
+            Call<V> existing = calls.putIfAbsent(key, call);
+            if (existing == null) {
+                CompletableFuture<V> result = join(key, call, token);
+                CompletableFuture<V> work;
+                try {
+                    work = start.apply(call.token);
+                } catch (RuntimeException e) {
+                    work = CompletableFuture.failedFuture(e);
+                }
+                work.whenComplete((value, error) -> {
+                    calls.remove(key, call);
+                    if (error != null) {
+                        call.result.completeExceptionally(error);
+                    } else {
+                        call.result.complete(value);
+                    }
+                });
+                return result;
+            }
+            CompletableFuture<V> result = join(key, existing, token);
+            if (result != null) {
+                coalesced.incrementAndGet();
+                return result;
+            }
+            // Pekerjaan itu baru saja dibatalkan semua pemanggilnya; mulai yang baru
+        }
+    }
+
+    private CompletableFuture<V> join(K key, Call<V> call, CancellationToken token) {
+        synchronized (call) {
+            if (call.closed) {
+                return null;
+            }
+            call.waiters++;
+        }
+        CompletableFuture<V> result = call.result.copy();
+        CancellationToken.Registration registration = token.onCancel(() -> result.cancel(true));
+        result.whenComplete((value, error) -> {
+            registration.close();
+            if (result.isCancelled()) {
+                leave(key, call);
+            }
+        });
+        return result;
+    }
+
+    private void leave(K key, Call<V> call) {
+        synchronized (call) {
+            if (--call.waiters > 0 || call.closed) {
+                return;
+            }
+            call.closed = true;
+            calls.remove(key, call);
+        }
+        call.token.cancel();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+}
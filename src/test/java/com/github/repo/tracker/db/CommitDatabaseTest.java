@@ -0,0 +1,132 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.Commit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommitDatabaseTest {
+
+    @TempDir
+    Path dir;
+
+    private ConnectionPool pool;
+    private CommitDatabase db;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = TestDatabase.open(dir);
+        db = new CommitDatabase(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    private static Commit commit(String sha, long epochSecond) {
+        return commit(sha, epochSecond, epochSecond);
+    }
+
+    private static Commit commit(String sha, long authoredSecond, long committedSecond) {
+        Commit.CommitAuthor author = new Commit.CommitAuthor();
+        author.setName("octo");
+        author.setDate(Instant.ofEpochSecond(authoredSecond));
+        Commit.CommitAuthor committer = new Commit.CommitAuthor();
+        committer.setDate(Instant.ofEpochSecond(committedSecond));
+        Commit.CommitDetails details = new Commit.CommitDetails();
+        details.setAuthor(author);
+        details.setCommitter(committer);
+        details.setMessage("commit " + sha);
+        Commit commit = new Commit();
+        commit.setSha(sha);
+        commit.setCommit(details);
+        return commit;
+    }
+
+    private void save(String owner, String repo, List<Commit> commits) throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            db.saveCommits(conn, owner, repo, commits);
+        }
+    }
+
+    @Test
+    void emptyRepoHasNoSyncState() {
+        CommitDatabase.SyncState state = db.loadSyncState("octo", "hello");
+        assertNull(state.newestSha);
+        assertNull(state.oldestDate);
+        assertFalse(state.backfilled);
+        assertTrue(db.loadCommits("octo", "hello", 10).isEmpty());
+    }
+
+    @Test
+    void savedCommitsAreUpsertedAndReadNewestFirst() throws SQLException {
+        save("Octo", "Hello", List.of(commit("c3", 3_000), commit("c2", 2_000)));
+        // Halaman yang tumpang tindih tidak menggandakan baris
+        save("octo", "hello", List.of(commit("c2", 2_000), commit("c1", 1_000)));
+
+        List<Commit> commits = db.loadCommits("OCTO", "HELLO", 10);
+        assertEquals(List.of("c3", "c2", "c1"), commits.stream().map(Commit::getSha).collect(Collectors.toList()));
+        assertEquals(Instant.ofEpochSecond(3_000), commits.get(0).getDate());
+        assertEquals("commit c3", commits.get(0).getMessage());
+        assertEquals(2, db.loadCommits("octo", "hello", 2).size());
+        assertTrue(db.loadCommits("octo", "other", 10).isEmpty());
+    }
+
+    @Test
+    void syncStateTracksBothEndsAndBackfill() throws SQLException {
+        save("octo", "hello", List.of(commit("c3", 3_000), commit("c2", 2_000), commit("c1", 1_000)));
+
+        CommitDatabase.SyncState state = db.loadSyncState("octo", "hello");
+        assertEquals("c3", state.newestSha);
+        assertEquals(Instant.ofEpochSecond(3_000), state.newestDate);
+        assertEquals(Instant.ofEpochSecond(1_000), state.oldestDate);
+        assertFalse(state.backfilled);
+
+        try (Connection conn = pool.getConnection()) {
+            db.markBackfilled(conn, "octo", "hello");
+            db.markBackfilled(conn, "octo", "hello");
+        }
+        assertTrue(db.loadSyncState("octo", "hello").backfilled);
+        assertFalse(db.loadSyncState("octo", "other").backfilled);
+    }
+
+    @Test
+    void knownShasAreLimitedToTheRepository() throws SQLException {
+        save("octo", "hello", List.of(commit("c2", 2_000), commit("c1", 1_000)));
+        save("octo", "other", List.of(commit("c3", 3_000)));
+
+        Set<String> known = db.knownShas("Octo", "Hello", List.of(commit("c4", 4_000), commit("c3", 3_000), commit("c1", 1_000)));
+        assertEquals(Set.of("c1"), known);
+        assertTrue(db.knownShas("octo", "hello", List.of()).isEmpty());
+    }
+
+    @Test
+    void syncStateFollowsCommitterDate() throws SQLException {
+        // Commit hasil rebase: author-nya lama, tetapi di-commit paling akhir
+        save("octo", "hello", List.of(commit("c9", 500, 4_000), commit("c2", 2_000), commit("c1", 1_000)));
+
+        CommitDatabase.SyncState state = db.loadSyncState("octo", "hello");
+        assertEquals("c9", state.newestSha);
+        assertEquals(Instant.ofEpochSecond(4_000), state.newestDate);
+        assertEquals(Instant.ofEpochSecond(1_000), state.oldestDate);
+
+        Commit loaded = db.loadCommits("octo", "hello", 1).get(0);
+        assertEquals(Instant.ofEpochSecond(500), loaded.getDate());
+        assertEquals(Instant.ofEpochSecond(4_000), loaded.getCommittedAt());
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.Repo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark latensi {@link RepoDatabase#loadRepos(String)} lewat
+ * {@link ConnectionPool} dibandingkan membuka koneksi baru di setiap
+ * pemanggilan (cara sebelum ada pool). Kedua jalur memakai kode DAO yang
+ * sama; hanya sumber koneksinya yang berbeda.
+ * <p>
+ * Default-nya file SQLite sementara. Handshake TCP dan autentikasi baru
+ * terasa di MySQL, jadi arahkan ke database benchmark dengan
+ * {@code -Ddb.backend=mysql -Ddb.url=... -Ddb.user=... -Ddb.password=...}
+ * (user {@value #USERNAME} di database itu ditimpa). Bukan bagian dari
+ * {@code mvn test}; jalankan dengan {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.repo.tracker.db.ConnectionPoolBenchmark}.
+ */
+public class ConnectionPoolBenchmark {
+
+    private static final String USERNAME = "pool-benchmark";
+    private static final int REPOS = 200;
+    private static final int WARMUP_CALLS = 200;
+    private static final int CALLS = 1_000;
+
+    /**
+     * Setiap {@code getConnection()} membuka koneksi fisik baru, dan
+     * {@code close()} oleh DAO benar-benar memutusnya.
+     */
+    private static class PerCallPool extends ConnectionPool {
+        private final DatabaseConfig config;
+
+        PerCallPool(DatabaseConfig config) {
+            super(config);
+            this.config = config;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection conn = DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPassword());
+            config.getBackend().initConnection(conn);
+            return conn;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        DatabaseConfig config = config();
+        System.out.printf("Backend: %s, %d repository, %d pemanggilan%n", config.getBackend(), REPOS, CALLS);
+
+        ConnectionPool pool = new ConnectionPool(config);
+        ConnectionPool perCall = new PerCallPool(config);
+        try {
+            RepoDatabase pooled = new RepoDatabase(pool);
+            pooled.saveRepos(USERNAME, repos());
+            run("pool", pooled);
+            run("per panggilan", new RepoDatabase(perCall));
+        } finally {
+            pool.close();
+            perCall.close();
+        }
+    }
+
+    private static DatabaseConfig config() throws IOException {
+        if (System.getProperty("db.url") != null) {
+            return DatabaseConfig.load();
+        }
+        Path file = Files.createTempFile("pool-benchmark", ".db");
+        file.toFile().deleteOnExit();
+        return new DatabaseConfig(StorageBackend.SQLITE, "jdbc:sqlite:" + file, null, null, 8, 300_000, 10_000, 500);
+    }
+
+    private static void run(String label, RepoDatabase db) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            db.loadRepos(USERNAME);
+        }
+        long[] nanos = new long[CALLS];
+        long checksum = 0;
+        for (int i = 0; i < CALLS; i++) {
+            long start = System.nanoTime();
+            checksum += db.loadRepos(USERNAME).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-14s rata-rata %8.1f us  p50 %8.1f us  p99 %8.1f us  (%d)%n",
+                label,
+                Arrays.stream(nanos).average().orElse(0) / 1e3,
+                nanos[CALLS / 2] / 1e3,
+                nanos[CALLS * 99 / 100] / 1e3,
+                checksum);
+    }
+
+    private static List<Repo> repos() {
+        List<Repo> repos = new ArrayList<>(REPOS);
+        for (int i = 1; i <= REPOS; i++) {
+            Repo repo = new Repo();
+            repo.setId(9_000_000L + i);
+            repo.setName("bench-" + i);
+            repo.setDescription("Repository benchmark " + i);
+            repo.setLanguage(i % 2 == 0 ? "Java" : "Go");
+            repo.setStargazersCount(i * 3);
+            repo.setForksCount(i % 11);
+            repo.setUpdatedAt(Instant.ofEpochSecond(1_700_000_000L + i));
+            repo.setHtmlUrl("https://github.com/" + USERNAME + "/bench-" + i);
+            repos.add(repo);
+        }
+        return repos;
+    }
+}
@@ -0,0 +1,183 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.Repo;
+import com.github.repo.tracker.util.CancellationToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RepoDatabaseTest {
+
+    @TempDir
+    Path dir;
+
+    private ConnectionPool pool;
+    private RepoDatabase db;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = TestDatabase.open(dir);
+        db = new RepoDatabase(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    static Repo repo(long id, String name, int stars, int forks) {
+        Repo repo = new Repo();
+        repo.setId(id);
+        repo.setName(name);
+        repo.setDescription("desc " + name);
+        repo.setLanguage("Java");
+        repo.setStargazersCount(stars);
+        repo.setForksCount(forks);
+        repo.setUpdatedAt(Instant.ofEpochSecond(1_700_000_000L + id * 60));
+        repo.setHtmlUrl("https://github.com/octo/" + name);
+        return repo;
+    }
+
+    @Test
+    void saveReposWritesOnlyChangedRows() {
+        List<Repo> repos = new ArrayList<>(List.of(repo(1, "a", 10, 1), repo(2, "b", 20, 2), repo(3, "c", 30, 3)));
+        assertEquals(3, db.saveRepos("octo", repos));
+        assertEquals(0, db.saveRepos("octo", repos));
+
+        repos.set(1, repo(2, "b", 21, 2));
+        assertEquals(1, db.saveRepos("octo", repos));
+
+        // Repository yang hilang dihapus
+        repos.remove(0);
+        assertEquals(1, db.saveRepos("octo", repos));
+        assertEquals(2, db.countRepos("octo"));
+        assertEquals(List.of(2L, 3L), ids(db.loadRepos("octo", RepoSort.NAME, null, 10, CancellationToken.NONE)));
+        assertEquals(21, db.loadRepos("octo", RepoSort.NAME, null, 1, CancellationToken.NONE).get(0).getStargazersCount());
+    }
+
+    @Test
+    void saveReposRecordsSyncTime() {
+        assertNull(db.lastSynced("octo"));
+        Instant before = Instant.now().minusSeconds(1);
+        db.saveRepos("octo", List.of());
+        Instant synced = db.lastSynced("octo");
+        assertNotNull(synced);
+        assertTrue(!synced.isBefore(before));
+    }
+
+    @Test
+    void keysetPagingVisitsEveryRowOnceInOrder() {
+        List<Repo> repos = new ArrayList<>();
+        for (int i = 1; i <= 250; i++) {
+            // Banyak nilai kembar agar pemecah seri id ikut diuji
+            repos.add(repo(i, "repo-" + (i % 37), i % 7, i % 3));
+        }
+        db.saveRepos("octo", repos);
+        db.saveRepos("other", List.of(repo(1000, "x", 99, 99)));
+
+        for (RepoSort sort : RepoSort.values()) {
+            List<Long> expected = ids(repos.stream().sorted(comparator(sort)).collect(Collectors.toList()));
+
+            List<Long> keyset = new ArrayList<>();
+            Repo after = null;
+            while (true) {
+                List<Repo> page = db.loadRepos("octo", sort, after, 40, CancellationToken.NONE);
+                keyset.addAll(ids(page));
+                if (page.size() < 40) {
+                    break;
+                }
+                after = page.get(page.size() - 1);
+            }
+            assertEquals(expected, keyset, "keyset " + sort);
+
+            List<Long> offset = new ArrayList<>();
+            for (int start = 0; start < repos.size(); start += 40) {
+                offset.addAll(ids(db.loadReposAt("octo", sort, start, 40, CancellationToken.NONE)));
+            }
+            assertEquals(expected, offset, "offset " + sort);
+
+            try (Stream<Repo> stream = db.streamRepos("octo", sort, CancellationToken.NONE)) {
+                assertEquals(expected, ids(stream.collect(Collectors.toList())), "stream " + sort);
+            }
+        }
+    }
+
+    @Test
+    void keysetPagingCrossesNullSortKeys() {
+        List<Repo> repos = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            Repo repo = repo(i, "repo-" + (i % 4), i % 5, i % 2);
+            if (i % 3 == 0) {
+                repo.setName(null);
+                repo.setUpdatedAt(null);
+            }
+            repos.add(repo);
+        }
+        db.saveRepos("octo", repos);
+
+        for (RepoSort sort : RepoSort.values()) {
+            List<Long> expected = ids(db.loadReposAt("octo", sort, 0, 100, CancellationToken.NONE));
+            assertEquals(repos.size(), expected.size(), "offset " + sort);
+
+            // Halaman kecil agar cursor jatuh di baris NULL maupun bukan NULL
+            List<Long> keyset = new ArrayList<>();
+            Repo after = null;
+            while (true) {
+                List<Repo> page = db.loadRepos("octo", sort, after, 4, CancellationToken.NONE);
+                keyset.addAll(ids(page));
+                if (page.size() < 4) {
+                    break;
+                }
+                after = page.get(page.size() - 1);
+            }
+            assertEquals(expected, keyset, "keyset " + sort);
+        }
+    }
+
+    @Test
+    void loadUsernamesListsEveryOwnerOnce() {
+        db.saveRepos("octo", List.of(repo(1, "a", 1, 1), repo(2, "b", 1, 1)));
+        db.saveRepos("hubot", List.of(repo(3, "c", 1, 1)));
+        List<String> names = new ArrayList<>(db.loadUsernames());
+        names.sort(Comparator.naturalOrder());
+        assertEquals(List.of("hubot", "octo"), names);
+    }
+
+    private static Comparator<Repo> comparator(RepoSort sort) {
+        Comparator<Repo> byColumn;
+        switch (sort) {
+            case NAME:
+                byColumn = Comparator.comparing(Repo::getName);
+                break;
+            case STARS:
+                byColumn = Comparator.comparingInt(Repo::getStargazersCount);
+                break;
+            case FORKS:
+                byColumn = Comparator.comparingInt(Repo::getForksCount);
+                break;
+            default:
+                byColumn = Comparator.comparing(Repo::getUpdatedAt);
+                break;
+        }
+        Comparator<Repo> order = byColumn.thenComparingLong(Repo::getId);
+        return sort.isDescending() ? order.reversed() : order;
+    }
+
+    static List<Long> ids(List<Repo> repos) {
+        return repos.stream().map(Repo::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.RepoGrowth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static com.github.repo.tracker.db.RepoDatabaseTest.repo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RepoHistoryDatabaseTest {
+
+    private static final Duration WEEK = Duration.ofDays(7);
+
+    @TempDir
+    Path dir;
+
+    private ConnectionPool pool;
+    private RepoDatabase repos;
+    private RepoHistoryDatabase history;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = TestDatabase.open(dir);
+        repos = new RepoDatabase(pool);
+        history = repos.getHistory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void firstSightingIsNotGrowth() {
+        repos.saveRepos("octo", List.of(repo(1, "big", 5000, 10)));
+        assertEquals(0, history.starGrowth(1, WEEK));
+        assertTrue(history.fastestGrowing("octo", WEEK, 10).isEmpty());
+    }
+
+    @Test
+    void growthSumsChangesAfterBaseline() throws SQLException {
+        repos.saveRepos("octo", List.of(repo(1, "big", 5000, 10), repo(2, "small", 3, 0)));
+        repos.saveRepos("octo", List.of(repo(1, "big", 5004, 10), repo(2, "small", 13, 1)));
+        repos.saveRepos("octo", List.of(repo(1, "big", 5006, 10), repo(2, "small", 13, 1)));
+
+        assertEquals(6, history.starGrowth(1, WEEK));
+        assertEquals(10, history.starGrowth(2, WEEK));
+        List<RepoGrowth> growing = history.fastestGrowing("octo", WEEK, 10);
+        assertEquals(2, growing.size());
+        assertEquals(2L, growing.get(0).getRepoId());
+        assertEquals(1, growing.get(0).getForksGained());
+        // Nilai absolut tetap jumlah semua titik, termasuk titik awal
+        assertEquals(5006, totalStars(1));
+    }
+
+    @Test
+    void removedRepoIsZeroedWithoutNegativeGrowth() throws SQLException {
+        repos.saveRepos("octo", List.of(repo(1, "a", 50, 0), repo(2, "b", 7, 0)));
+        repos.saveRepos("octo", List.of(repo(2, "b", 7, 0)));
+        assertEquals(0, totalStars(1));
+        assertEquals(0, history.starGrowth(1, WEEK));
+    }
+
+    @Test
+    void compactionKeepsTotalsAndBaselines() throws SQLException {
+        // Satu jam setelah awal hari, agar tiga titik pertama jatuh di hari yang sama
+        long day = 86_400;
+        long old = Instant.now().minus(Duration.ofDays(60)).getEpochSecond() / day * day + 3_600;
+        try (Connection conn = pool.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "INSERT INTO repo_history(repo_id, username, captured_at, granularity, stars_delta, forks_delta) VALUES(?,?,?,?,?,?)")) {
+            Object[][] rows = {
+                {1L, "octo", old, "B", 100, 5},
+                {1L, "octo", old + 60, "R", 3, 0},
+                {1L, "octo", old + 120, "R", 4, 1},
+                {1L, "octo", old + 86_400, "R", 2, 0},
+            };
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    ps.setObject(i + 1, row[i]);
+                }
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        assertEquals(3, history.compact());
+        assertEquals(109, totalStars(1));
+        assertEquals(1, count("B"));
+        assertEquals(0, count("R"));
+        assertEquals(2, count("D"));
+    }
+
+    private int totalStars(long repoId) throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT COALESCE(SUM(stars_delta), 0) FROM repo_history WHERE repo_id = ?")) {
+            ps.setLong(1, repoId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private int count(String granularity) throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM repo_history WHERE granularity = ?")) {
+            ps.setString(1, granularity);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.Repo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark ukuran dan waktu encode/decode snapshot {@link RepoSnapshotFile}
+ * dibandingkan Java serialization dari {@code ArrayList<Repo>} (format
+ * {@code repos.ser} lama). Keduanya bekerja di memori, tanpa I/O file.
+ * <p>
+ * Bukan bagian dari {@code mvn test}; jalankan dengan
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.repo.tracker.db.RepoSnapshotBenchmark}.
+ */
+public class RepoSnapshotBenchmark {
+
+    private static final int REPOS = 1_000;
+    private static final int WARMUP_ROUNDS = 500;
+    private static final int ROUNDS = 1_000;
+    private static final String[] LANGUAGES = {"Java", "Kotlin", "Go", "TypeScript", null};
+
+    private interface Codec {
+        byte[] encode(List<Repo> repos) throws IOException;
+
+        List<Repo> decode(byte[] data) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Repo> repos = repos();
+        System.out.printf("%d repository%n", REPOS);
+        run("serialization", repos, new Codec() {
+            @Override
+            public byte[] encode(List<Repo> list) throws IOException {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    out.writeObject(new ArrayList<>(list));
+                }
+                return bytes.toByteArray();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Repo> decode(byte[] data) throws IOException {
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                    return (List<Repo>) in.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException(e);
+                }
+            }
+        });
+        run("snapshot", repos, new Codec() {
+            @Override
+            public byte[] encode(List<Repo> list) {
+                return RepoSnapshotFile.encode(list, Instant.now());
+            }
+
+            @Override
+            public List<Repo> decode(byte[] data) throws IOException {
+                return RepoSnapshotFile.decode(ByteBuffer.wrap(data)).getRepos();
+            }
+        });
+    }
+
+    private static void run(String label, List<Repo> repos, Codec codec) throws IOException {
+        byte[] data = codec.encode(repos);
+        if (!codec.decode(data).equals(repos)) {
+            throw new IllegalStateException(label + ": hasil decode berbeda dari data asli");
+        }
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            codec.decode(codec.encode(repos));
+        }
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            checksum += codec.encode(repos).length;
+        }
+        long encodeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            checksum += codec.decode(data).size();
+        }
+        long decodeNanos = System.nanoTime() - start;
+
+        System.out.printf("%-14s %8.1f KB  encode %8.1f us  decode %8.1f us  (%d)%n",
+                label,
+                data.length / 1024.0,
+                encodeNanos / 1e3 / ROUNDS,
+                decodeNanos / 1e3 / ROUNDS,
+                checksum);
+    }
+
+    private static List<Repo> repos() {
+        List<Repo> repos = new ArrayList<>(REPOS);
+        for (int i = 1; i <= REPOS; i++) {
+            Repo repo = new Repo();
+            repo.setId(9_000_000L + i);
+            repo.setName("bench-" + i);
+            repo.setDescription(i % 4 == 0 ? null : "Repository benchmark " + i);
+            repo.setLanguage(LANGUAGES[i % LANGUAGES.length]);
+            repo.setStargazersCount(i * 3);
+            repo.setForksCount(i % 11);
+            repo.setPrivate(i % 10 == 0);
+            repo.setUpdatedAt(Instant.ofEpochSecond(1_700_000_000L + i));
+            repo.setHtmlUrl("https://github.com/octo/bench-" + i);
+            repos.add(repo);
+        }
+        return repos;
+    }
+}
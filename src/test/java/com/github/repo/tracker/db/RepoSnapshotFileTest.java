@@ -0,0 +1,74 @@
+package com.github.repo.tracker.db;
+
+import com.github.repo.tracker.model.Repo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RepoSnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<Repo> repos() {
+        Repo full = RepoDatabaseTest.repo(1, "hello-world", 1_500, 300);
+        full.setPrivate(true);
+        full.setDescription("Deskripsi dengan UTF-8: ünïcødé ⭐");
+        Repo sparse = new Repo();
+        sparse.setId(Long.MAX_VALUE);
+        // Nama, deskripsi, bahasa, URL, dan waktu semuanya null
+        Repo sameLanguage = RepoDatabaseTest.repo(3, "spoon-knife", 0, 0);
+        sameLanguage.setUpdatedAt(Instant.EPOCH);
+        return List.of(full, sparse, sameLanguage);
+    }
+
+    @Test
+    void encodedSnapshotRoundTrips() throws IOException {
+        List<Repo> repos = repos();
+        Instant savedAt = Instant.ofEpochSecond(1_700_000_000L);
+
+        RepoSnapshotFile.Snapshot snapshot = RepoSnapshotFile.decode(ByteBuffer.wrap(RepoSnapshotFile.encode(repos, savedAt)));
+
+        assertEquals(savedAt, snapshot.getSavedAt());
+        assertEquals(repos, snapshot.getRepos());
+        assertNull(snapshot.getRepos().get(1).getName());
+        assertNull(snapshot.getRepos().get(1).getUpdatedAt());
+        assertTrue(RepoSnapshotFile.decode(ByteBuffer.wrap(RepoSnapshotFile.encode(List.of(), savedAt))).getRepos().isEmpty());
+    }
+
+    @Test
+    void truncatedSnapshotIsRejected() {
+        byte[] data = RepoSnapshotFile.encode(repos(), Instant.ofEpochSecond(1_700_000_000L));
+        // Setiap potongan harus gagal sebagai IOException, bukan exception runtime
+        for (int length = 0; length < data.length; length++) {
+            ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(data, length));
+            assertThrows(IOException.class, () -> RepoSnapshotFile.decode(truncated), "panjang " + length);
+        }
+
+        byte[] foreign = data.clone();
+        foreign[0] = 'X';
+        assertThrows(IOException.class, () -> RepoSnapshotFile.decode(ByteBuffer.wrap(foreign)));
+    }
+
+    @Test
+    void writtenSnapshotIsReadBackPerUser() throws IOException {
+        RepoSnapshotFile files = new RepoSnapshotFile(dir);
+        assertNull(files.read("octo"));
+
+        files.write("Octo", repos());
+
+        assertEquals(repos(), files.read("octo").getRepos());
+        assertNull(files.read("hubot"));
+    }
+}
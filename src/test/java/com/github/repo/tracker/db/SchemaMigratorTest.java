@@ -0,0 +1,100 @@
+package com.github.repo.tracker.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaMigratorTest {
+
+    @TempDir
+    Path dir;
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = TestDatabase.open(dir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void freshDatabaseRecordsEveryVersionOnce() throws SQLException {
+        SchemaMigrator.migrate(pool);
+        List<Integer> expected = new ArrayList<>();
+        for (int version = 1; version <= SchemaMigrator.latestVersion(); version++) {
+            expected.add(version);
+        }
+        assertEquals(expected, versions(pool));
+
+        // Pool baru pada database yang sama tidak menjalankan ulang apa pun
+        pool.close();
+        pool = TestDatabase.reopen(dir);
+        SchemaMigrator.migrate(pool);
+        assertEquals(expected, versions(pool));
+    }
+
+    @Test
+    void legacyDatabaseIsAdopted() throws SQLException {
+        // Skema sebelum ada schema_version, dengan data lama
+        try (Connection conn = pool.getConnection();
+             Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE repo (id BIGINT PRIMARY KEY, username VARCHAR(255), name VARCHAR(255), description TEXT, language VARCHAR(100), stars INT, forks INT, private TINYINT(1), updated_at DATETIME, html_url VARCHAR(500), hash VARCHAR(64))");
+            st.execute("INSERT INTO repo(id, username, name, stars, forks) VALUES (1, 'octo', 'a', 40, 2), (2, 'octo', 'b', 5, 0), (3, 'hubot', 'c', 9, 1)");
+        }
+
+        RepoDatabase repos = new RepoDatabase(pool);
+
+        assertEquals(SchemaMigrator.latestVersion(), versions(pool).size());
+        // Data lama tetap terbaca dari database, tetapi dianggap basi
+        assertEquals(Instant.EPOCH, repos.lastSynced("octo"));
+        assertEquals(Instant.EPOCH, repos.lastSynced("hubot"));
+        assertEquals(2, repos.countRepos("octo"));
+        // Nilai lama menjadi titik awal riwayat, bukan pertumbuhan
+        assertEquals(0, repos.getHistory().starGrowth(1, Duration.ofDays(7)));
+        assertTrue(repos.getHistory().fastestGrowing("octo", Duration.ofDays(7), 10).isEmpty());
+    }
+
+    @Test
+    void existingRepoIndexDoesNotFailMigration() throws SQLException {
+        // Indeks yang dibuat manual sebelum migrasi 2 ada
+        try (Connection conn = pool.getConnection();
+             Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE repo (id BIGINT PRIMARY KEY, username VARCHAR(255), name VARCHAR(255), description TEXT, language VARCHAR(100), stars INT, forks INT, private TINYINT(1), updated_at DATETIME, html_url VARCHAR(500), hash VARCHAR(64))");
+            st.execute("CREATE INDEX idx_repo_user_stars ON repo(username, stars)");
+        }
+
+        SchemaMigrator.migrate(pool);
+
+        assertEquals(SchemaMigrator.latestVersion(), versions(pool).size());
+    }
+
+    private static List<Integer> versions(ConnectionPool pool) throws SQLException {
+        List<Integer> versions = new ArrayList<>();
+        try (Connection conn = pool.getConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version FROM schema_version ORDER BY version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.repo.tracker.db;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Pool database untuk tes DAO. Default-nya file SQLite baru di direktori
+ * sementara. Dengan {@code -Dtest.db.backend=mysql} tes dijalankan ke server
+ * MySQL dari {@code test.db.url}, {@code test.db.user} dan
+ * {@code test.db.password}; pakai database khusus tes karena semua tabel
+ * aplikasi dihapus sebelum setiap tes.
+ */
+final class TestDatabase {
+
+    private static final String[] TABLES = {
+        "schema_version", "repo", "repo_history", "repo_sync", "commits", "commit_sync", "users"
+    };
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Pool ke database tes yang masih kosong.
+     */
+    static ConnectionPool open(Path dir) throws SQLException {
+        ConnectionPool pool = reopen(dir);
+        if (pool.getBackend() == StorageBackend.MYSQL) {
+            try (Connection conn = pool.getConnection();
+                 Statement st = conn.createStatement()) {
+                for (String table : TABLES) {
+                    st.execute("DROP TABLE IF EXISTS " + table);
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Pool baru ke database tes yang sama tanpa mengosongkannya.
+     */
+    static ConnectionPool reopen(Path dir) {
+        if ("mysql".equalsIgnoreCase(System.getProperty("test.db.backend"))) {
+            return new ConnectionPool(new DatabaseConfig(StorageBackend.MYSQL,
+                    System.getProperty("test.db.url", "jdbc:mysql://localhost:3306/github_tracker_test?useSSL=false&serverTimezone=UTC"),
+                    System.getProperty("test.db.user", "root"),
+                    System.getProperty("test.db.password", "root"),
+                    4, 60_000, 10_000, 500));
+        }
+        return new ConnectionPool(new DatabaseConfig(StorageBackend.SQLITE,
+                "jdbc:sqlite:" + dir.resolve("test.db"), null, null, 4, 60_000, 10_000, 500));
+    }
+}
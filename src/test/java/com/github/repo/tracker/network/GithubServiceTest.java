@@ -0,0 +1,80 @@
+package com.github.repo.tracker.network;
+
+import com.github.repo.tracker.network.RequestScheduler.Priority;
+import com.github.repo.tracker.util.CancellationToken;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GithubServiceTest {
+
+    private static final String USER_URL = "https://api.github.com/users/octo";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void notModifiedIsServedWhenEntryWasEvictedMidRequest() throws Exception {
+        HttpCache cache = new HttpCache(dir.resolve("http-cache.ser"));
+        boolean[] evicted = {false};
+        FakeHttpClient http = new FakeHttpClient(request -> {
+            if (request.headers().firstValue("If-None-Match").isEmpty()) {
+                return new FakeHttpClient.Reply(200, "{\"login\":\"octo\",\"public_repos\":3}").header("ETag", "\"v1\"");
+            }
+            // Entri lain yang sebesar seluruh cache membuang entri ini setelah validatornya terkirim
+            cache.store("https://api.github.com/users/big", HttpHeaders.of(Map.of("ETag", List.of("\"big\"")), (n, v) -> true),
+                    "big", 32L * 1024 * 1024);
+            evicted[0] = cache.peek(USER_URL) == null;
+            return new FakeHttpClient.Reply(304, "");
+        });
+        GithubService service = new GithubService(cache, new RequestScheduler(http));
+
+        assertEquals("octo", service.fetchUser("octo").getLogin());
+        assertEquals("octo", service.fetchUser("octo").getLogin());
+
+        assertTrue(evicted[0]);
+        assertEquals(2, http.requests().size());
+        assertEquals(1, cache.getHits());
+        // Respons 304 membuktikan entri masih berlaku, jadi dimasukkan kembali
+        assertNotNull(cache.peek(USER_URL));
+        assertNull(cache.peek("https://api.github.com/users/big"));
+    }
+
+    @Test
+    void failedPageCancelsQueuedPages() throws Exception {
+        FakeHttpClient http = new FakeHttpClient(request -> {
+            String query = request.uri().getQuery();
+            if (query.endsWith("&page=1")) {
+                return new FakeHttpClient.Reply(200, "[{\"id\":1,\"name\":\"a\"}]")
+                        .header("Link", "<https://api.github.com/users/octo/repos?per_page=100&page=20>; rel=\"last\"");
+            }
+            if (query.endsWith("&page=2")) {
+                return new FakeHttpClient.Reply(500, "");
+            }
+            // Halaman lain lambat, sehingga sisanya masih antre saat halaman 2 gagal
+            Thread.sleep(200);
+            return new FakeHttpClient.Reply(200, "[]");
+        });
+        GithubService service = new GithubService(new HttpCache(dir.resolve("http-cache.ser")), new RequestScheduler(http));
+
+        IOException error = assertThrows(IOException.class,
+                () -> service.streamRepoPages("octo", Priority.BACKGROUND, CancellationToken.NONE, page -> { }));
+        assertTrue(error.getMessage().contains("500"));
+
+        Thread.sleep(1_000);
+        // Halaman 1 dan 2, halaman yang sedang dikirim, dan paling banyak satu yang
+        // diambil dari antrean tepat saat pembatalan; tanpa pembatalan kedelapan halaman terkirim
+        assertTrue(http.requests().size() <= 4, "request terkirim: " + http.requests());
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.repo.tracker.network;
+
+import com.github.repo.tracker.model.Repo;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark parsing satu halaman 100 repository: binding reflektif Gson
+ * dengan deserializer {@link Instant} berbasis {@code JsonElement} (cara
+ * lama) dibandingkan {@link RepoTypeAdapter}. Halaman dibentuk dari contoh
+ * objek repository GitHub di {@code bench/repo.json}.
+ * <p>
+ * Bukan bagian dari {@code mvn test}; jalankan dengan
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.github.repo.tracker.network.ParseBenchmark}.
+ */
+public class ParseBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP_ROUNDS = 1_000;
+    private static final int ROUNDS = 2_000;
+
+    public static void main(String[] args) throws IOException {
+        String page = page();
+        Gson reflective = new GsonBuilder()
+                .registerTypeAdapter(Instant.class, (JsonDeserializer<Instant>) (json, type, context) -> Instant.parse(json.getAsString()))
+                .create();
+        Gson streaming = new GsonBuilder()
+                .registerTypeAdapter(Repo.class, new RepoTypeAdapter())
+                .create();
+
+        System.out.printf("Halaman: %d repository, %d KB%n", PAGE_SIZE, page.length() / 1024);
+        run("reflektif", reflective, page);
+        run("TypeAdapter", streaming, page);
+    }
+
+    private static void run(String label, Gson gson, String page) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            parse(gson, page);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            checksum += parse(gson, page).size();
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        System.out.printf("%-12s %8.1f halaman/detik  %8.1f us/halaman  %8.1f KB dialokasikan/halaman  (%d)%n",
+                label,
+                ROUNDS / (nanos / 1e9),
+                nanos / 1e3 / ROUNDS,
+                allocated / 1024.0 / ROUNDS,
+                checksum);
+    }
+
+    /**
+     * Sama seperti {@code GithubService.readArray}: array dibaca elemen per elemen.
+     */
+    private static List<Repo> parse(Gson gson, String page) throws IOException {
+        List<Repo> repos = new ArrayList<>(PAGE_SIZE);
+        try (JsonReader reader = new JsonReader(new StringReader(page))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                repos.add(gson.fromJson(reader, Repo.class));
+            }
+            reader.endArray();
+        }
+        return repos;
+    }
+
+    private static String page() throws IOException {
+        String template;
+        try (InputStream in = ParseBenchmark.class.getResourceAsStream("/bench/repo.json")) {
+            if (in == null) {
+                throw new IOException("bench/repo.json tidak ditemukan di classpath tes");
+            }
+            template = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            JsonObject repo = JsonParser.parseString(template).getAsJsonObject();
+            repo.addProperty("id", 1_296_269L + i);
+            repo.addProperty("name", "Hello-World-" + i);
+            repo.addProperty("stargazers_count", i * 17);
+            repo.addProperty("language", i % 3 == 0 ? "Java" : (i % 3 == 1 ? "Kotlin" : null));
+            array.add(repo);
+        }
+        return array.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.repo.tracker.network;
+
+import com.github.repo.tracker.network.RequestScheduler.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestSchedulerTest {
+
+    private static HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("https://api.github.com" + path)).build();
+    }
+
+    /**
+     * Kuota longgar (360 sisa, reset 360 detik lagi) berarti satu token per detik.
+     */
+    private static FakeHttpClient quota() {
+        return new FakeHttpClient(request -> new FakeHttpClient.Reply(200, "{}")
+                .header("X-RateLimit-Remaining", "360")
+                .header("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + 360)));
+    }
+
+    private static void awaitRequests(FakeHttpClient http, int count, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (http.requests().size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void looseQuotaIsSpentInSmallBurstsAtTheRefillRate() throws Exception {
+        FakeHttpClient http = quota();
+        RequestScheduler scheduler = new RequestScheduler(http);
+
+        for (int i = 0; i < 30; i++) {
+            scheduler.submit(get("/users/octo/repos?page=" + i), HttpResponse.BodyHandlers.discarding(), Priority.BACKGROUND);
+        }
+        awaitRequests(http, 10, 2_000);
+        Thread.sleep(300);
+
+        // Sisa kuota masih besar, tetapi hanya satu burst yang terkirim sekaligus
+        int sent = http.requests().size();
+        assertTrue(sent >= 10 && sent <= 11, "terkirim: " + sent);
+        assertEquals(30 - sent, scheduler.getQueueSize());
+    }
+
+    @Test
+    void interactiveRequestOvertakesWhileDispatcherWaits() throws Exception {
+        FakeHttpClient http = quota();
+        RequestScheduler scheduler = new RequestScheduler(http);
+
+        for (int i = 0; i < 15; i++) {
+            scheduler.submit(get("/users/octo/repos?page=" + i), HttpResponse.BodyHandlers.discarding(), Priority.BACKGROUND);
+        }
+        awaitRequests(http, 10, 2_000);
+        scheduler.submit(get("/users/hubot"), HttpResponse.BodyHandlers.discarding(), Priority.INTERACTIVE).get();
+
+        List<HttpRequest> requests = http.requests();
+        assertEquals("/users/hubot", requests.get(requests.size() - 1).uri().getPath());
+        assertTrue(requests.size() <= 12, "terkirim: " + requests.size());
+    }
+}